@@ -0,0 +1,86 @@
+package com.yvolabs.hogwartsartifactsapi;
+
+import com.yvolabs.hogwartsartifactsapi.artifact.Artifact;
+import com.yvolabs.hogwartsartifactsapi.artifact.converter.ArtifactToArtifactDtoConverter;
+import com.yvolabs.hogwartsartifactsapi.artifact.dto.ArtifactDto;
+import com.yvolabs.hogwartsartifactsapi.hogwartsuser.HogwartsUser;
+import com.yvolabs.hogwartsartifactsapi.hogwartsuser.converter.UserToUserDtoConverter;
+import com.yvolabs.hogwartsartifactsapi.hogwartsuser.dto.UserDto;
+import com.yvolabs.hogwartsartifactsapi.wizard.Wizard;
+import com.yvolabs.hogwartsartifactsapi.wizard.converter.WizardToWizardDtoConverter;
+import com.yvolabs.hogwartsartifactsapi.wizard.dto.WizardDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yvonne N
+ * Entity to dto converters, an artifact with its owner (the common case) and without.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConverterBenchmark {
+    private final WizardToWizardDtoConverter wizardToWizardDtoConverter = new WizardToWizardDtoConverter();
+    private final ArtifactToArtifactDtoConverter artifactToArtifactDtoConverter = new ArtifactToArtifactDtoConverter(wizardToWizardDtoConverter);
+    private final UserToUserDtoConverter userToUserDtoConverter = new UserToUserDtoConverter();
+
+    private Wizard wizard;
+    private Artifact ownedArtifact;
+    private Artifact unownedArtifact;
+    private HogwartsUser user;
+
+    @Setup
+    public void setUp() {
+        wizard = new Wizard();
+        wizard.setId(1);
+        wizard.setName("Albus Dumbledore");
+        wizard.setArtifacts(new ArrayList<>());
+
+        ownedArtifact = Artifact.builder()
+                .id("1250808601744904191")
+                .name("Deluminator")
+                .description("A Deluminator is a device invented by Albus Dumbledore that resembles a cigarette lighter.")
+                .imageUrl("https://hogwartsartifactsonline.blob.core.windows.net/artifact-image-container/deluminator.jpg")
+                .build();
+        wizard.addArtifact(ownedArtifact);
+
+        unownedArtifact = Artifact.builder()
+                .id("1250808601744904196")
+                .name("Resurrection Stone")
+                .description("The Resurrection Stone allows the holder to bring back deceased loved ones.")
+                .imageUrl("https://hogwartsartifactsonline.blob.core.windows.net/artifact-image-container/resurrection-stone.jpg")
+                .build();
+
+        user = new HogwartsUser();
+        user.setId(1);
+        user.setUsername("john");
+        user.setPassword("$2a$12$8yTgEQ1LOItKN7wKvT5oUe6RUXTpe1o8yN5p7VuwfF2OsJPcRzVWa");
+        user.setEnabled(true);
+        user.setRoles("admin user");
+    }
+
+    @Benchmark
+    public ArtifactDto artifactWithOwner() {
+        return artifactToArtifactDtoConverter.convert(ownedArtifact);
+    }
+
+    @Benchmark
+    public ArtifactDto artifactWithoutOwner() {
+        return artifactToArtifactDtoConverter.convert(unownedArtifact);
+    }
+
+    @Benchmark
+    public WizardDto wizard() {
+        return wizardToWizardDtoConverter.convert(wizard);
+    }
+
+    @Benchmark
+    public UserDto user() {
+        return userToUserDtoConverter.convert(user);
+    }
+}
@@ -0,0 +1,111 @@
+package com.yvolabs.hogwartsartifactsapi.artifact;
+
+import com.yvolabs.hogwartsartifactsapi.utils.IdWorker;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yvonne N
+ * Artifact primary key stored as the former VARCHAR(255) vs as a BIGINT (@JdbcTypeCode on Artifact.id), in H2:
+ * lookup by id among a million IdWorker ids, the size of the table and of the database file (table + primary key index) are printed once loaded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArtifactIdStorageBenchmark {
+    @Param({"varchar(255)", "bigint"})
+    private String idType;
+
+    @Param("1000000")
+    private int rows;
+
+    private Path directory;
+    private Connection connection;
+    private PreparedStatement findById;
+    private long[] ids;
+    private boolean numeric;
+
+    @Setup
+    public void setUp() throws SQLException, IOException {
+        numeric = idType.equals("bigint");
+        // a file database, an in-memory one reports no size
+        directory = Files.createTempDirectory("artifact-ids-");
+        connection = DriverManager.getConnection("jdbc:h2:" + directory.resolve("artifacts").toAbsolutePath(), "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table artifact (id " + idType + " primary key, name varchar(255), description varchar(255), image_url varchar(255), owner_id integer)");
+        }
+
+        ids = new IdWorker(1, 1).nextIds(rows);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("insert into artifact (id, name, description, image_url, owner_id) values (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < ids.length; i++) {
+                bindId(insert, ids[i]);
+                insert.setString(2, "Artifact " + i);
+                insert.setString(3, "A description of artifact " + i);
+                insert.setString(4, "ImageUrl");
+                insert.setInt(5, i % 1000);
+                insert.addBatch();
+                if (i % 1000 == 999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        // disk_space_used leaves the indexes out, the rest of the file is mostly the primary key index
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("checkpoint sync");
+            try (ResultSet size = statement.executeQuery("call disk_space_used('ARTIFACT')")) {
+                size.next();
+                long fileSize = Files.size(directory.resolve("artifacts.mv.db"));
+                System.out.printf("%n%s ids, %d rows: table %.1f MB, database file %.1f MB%n", idType, rows, size.getLong(1) / 1048576.0, fileSize / 1048576.0);
+            }
+        }
+
+        findById = connection.prepareStatement("select name from artifact where id = ?");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop all objects delete files");
+        }
+        connection.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public String findById() throws SQLException {
+        bindId(findById, ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+        try (ResultSet resultSet = findById.executeQuery()) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    // as Hibernate binds Artifact.id, a String before and a long now
+    private void bindId(PreparedStatement statement, long id) throws SQLException {
+        if (numeric) {
+            statement.setLong(1, id);
+        } else {
+            statement.setString(1, String.valueOf(id));
+        }
+    }
+}
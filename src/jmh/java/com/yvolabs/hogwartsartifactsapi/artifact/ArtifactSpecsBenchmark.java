@@ -0,0 +1,67 @@
+package com.yvolabs.hogwartsartifactsapi.artifact;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * @author Yvonne N
+ * Building the search Specification from the criteria (normalized, as the search cache key is) with ArtifactServiceImpl.toSpecification,
+ * name and description resolved by the trigram index over 1000 artifacts (indexReady) or by the LIKE fallback before it is built.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArtifactSpecsBenchmark {
+    private final Map<String, String> oneCriterion = Map.of("description", "Hogwarts");
+    private final Map<String, String> allCriteria = Map.of(
+            "id", "1250808601744904192",
+            "name", "Cloak",
+            "description", "Hogwarts",
+            "ownerName", "Harry Potter");
+
+    @Param({"false", "true"})
+    private boolean indexReady;
+
+    private ArtifactServiceImpl artifactService;
+
+    @Setup
+    public void setUp() {
+        List<Artifact> artifacts = IntStream.range(0, 1000)
+                .mapToObj(i -> Artifact.builder()
+                        .id(String.valueOf(1250808601744904191L + i))
+                        .name((i % 10 == 0 ? "Invisibility Cloak " : "Artifact ") + i)
+                        .description((i % 20 == 0 ? "Made at Hogwarts, artifact " : "A description of artifact ") + i)
+                        .build())
+                .toList();
+
+        ArtifactRepository artifactRepository = Mockito.mock(ArtifactRepository.class);
+        Mockito.when(artifactRepository.streamAll(null)).thenAnswer(invocation -> artifacts.stream());
+        ArtifactTrigramIndex artifactTrigramIndex = new ArtifactTrigramIndex(artifactRepository);
+        ReflectionTestUtils.setField(artifactTrigramIndex, "maxCandidates", 1000);
+        if (indexReady) {
+            artifactTrigramIndex.rebuild();
+        }
+
+        artifactService = new ArtifactServiceImpl(artifactRepository, null, null, artifactTrigramIndex, null, null);
+    }
+
+    @Benchmark
+    public Specification<Artifact> oneCriterion() {
+        return artifactService.toSpecification(ArtifactSpecs.normalize(oneCriterion));
+    }
+
+    @Benchmark
+    public Specification<Artifact> allCriteria() {
+        return artifactService.toSpecification(ArtifactSpecs.normalize(allCriteria));
+    }
+}
@@ -0,0 +1,114 @@
+package com.yvolabs.hogwartsartifactsapi.artifact;
+
+import com.yvolabs.hogwartsartifactsapi.HogwartsArtifactsApiApplication;
+import com.yvolabs.hogwartsartifactsapi.artifact.converter.ArtifactToArtifactDtoConverter;
+import com.yvolabs.hogwartsartifactsapi.artifact.dto.ArtifactDto;
+import com.yvolabs.hogwartsartifactsapi.utils.IdWorker;
+import com.yvolabs.hogwartsartifactsapi.wizard.Wizard;
+import com.yvolabs.hogwartsartifactsapi.wizard.WizardRepository;
+import com.yvolabs.hogwartsartifactsapi.wizard.WizardService;
+import com.yvolabs.hogwartsartifactsapi.wizard.converter.WizardToWizardDtoConverter;
+import com.yvolabs.hogwartsartifactsapi.wizard.dto.WizardDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yvonne N
+ * The list endpoints' read path before and after the dto projections, on the application's own beans (dev profile, H2)
+ * with 1000 artifacts owned by 100 wizards:
+ * entities loaded into a read-write persistence context then converted (before) vs the projection query (after).
+ * GET /wizards is not paged, pageSize only applies to the artifacts.
+ * For the allocation per call add the gc profiler: java -cp ... org.openjdk.jmh.Main ListReadPathBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListReadPathBenchmark {
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ArtifactService artifactService;
+    private WizardService wizardService;
+    private ArtifactToArtifactDtoConverter artifactToArtifactDtoConverter;
+    private WizardToWizardDtoConverter wizardToWizardDtoConverter;
+    private Pageable pageable;
+
+    @Setup
+    public void setUp() {
+        // devtools would restart the application in another thread
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(HogwartsArtifactsApiApplication.class)
+                .profiles("dev")
+                .properties("server.port=0", "logging.level.root=warn")
+                .run();
+
+        artifactService = context.getBean(ArtifactService.class);
+        wizardService = context.getBean(WizardService.class);
+        artifactToArtifactDtoConverter = context.getBean(ArtifactToArtifactDtoConverter.class);
+        wizardToWizardDtoConverter = context.getBean(WizardToWizardDtoConverter.class);
+        pageable = PageRequest.of(1, pageSize, Sort.by("name"));
+
+        WizardRepository wizardRepository = context.getBean(WizardRepository.class);
+        ArtifactRepository artifactRepository = context.getBean(ArtifactRepository.class);
+        IdWorker idWorker = context.getBean(IdWorker.class);
+        context.getBean(TransactionTemplate.class).executeWithoutResult(status -> {
+            List<Wizard> wizards = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                Wizard wizard = new Wizard();
+                wizard.setName("Wizard " + i);
+                wizards.add(wizardRepository.save(wizard));
+            }
+            List<Artifact> artifacts = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                Artifact artifact = Artifact.builder()
+                        .id(String.valueOf(idWorker.nextId()))
+                        .name("Artifact " + i)
+                        .description("A description of artifact " + i)
+                        .imageUrl("ImageUrl")
+                        .build();
+                wizards.get(i % wizards.size()).addArtifact(artifact);
+                artifacts.add(artifact);
+            }
+            artifactRepository.persistAll(artifacts);
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<ArtifactDto> artifactsByEntities() {
+        return artifactService.findAll(pageable).map(artifactToArtifactDtoConverter::convert);
+    }
+
+    @Benchmark
+    public Page<ArtifactDto> artifactsByProjection() {
+        return artifactService.findAllDtos(pageable);
+    }
+
+    @Benchmark
+    public List<WizardDto> wizardsByEntities() {
+        return wizardService.findAll().stream().map(wizardToWizardDtoConverter::convert).toList();
+    }
+
+    @Benchmark
+    public List<WizardDto> wizardsByProjection() {
+        return wizardService.findAllDtos();
+    }
+}
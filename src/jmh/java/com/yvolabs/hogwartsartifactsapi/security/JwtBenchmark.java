@@ -0,0 +1,65 @@
+package com.yvolabs.hogwartsartifactsapi.security;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yvonne N
+ * JwtProvider.createToken (RS256 signing, on every login) and decoding (signature check, on every authenticated request),
+ * with the encoder and decoder built as in SecurityConfiguration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+    private JwtProvider jwtProvider;
+    private JwtDecoder jwtDecoder;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() throws NoSuchAlgorithmException {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+
+        RSAKey jwk = new RSAKey.Builder(publicKey)
+                .privateKey((RSAPrivateKey) keyPair.getPrivate())
+                .build();
+        jwtProvider = new JwtProvider(new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(jwk))));
+        jwtDecoder = NimbusJwtDecoder.withPublicKey(publicKey).build();
+
+        authentication = new UsernamePasswordAuthenticationToken("john", null, AuthorityUtils.createAuthorityList("ROLE_admin", "ROLE_user"));
+        token = jwtProvider.createToken(authentication);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return jwtProvider.createToken(authentication);
+    }
+
+    @Benchmark
+    public Jwt decodeToken() {
+        return jwtDecoder.decode(token);
+    }
+}
@@ -0,0 +1,75 @@
+package com.yvolabs.hogwartsartifactsapi.system;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yvolabs.hogwartsartifactsapi.artifact.dto.ArtifactDto;
+import com.yvolabs.hogwartsartifactsapi.wizard.dto.WizardDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * @author Yvonne N
+ * Jackson serialization of the Result envelope around the three page payloads (Page, SlicePage, CursorPage) of artifact dtos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultSerializationBenchmark {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private Result pageResult;
+    private Result slicePageResult;
+    private Result cursorPageResult;
+
+    @Setup
+    public void setUp() {
+        WizardDto owner = new WizardDto(1, "Albus Dumbledore", 2);
+        List<ArtifactDto> artifactDtos = IntStream.range(0, pageSize)
+                .mapToObj(i -> new ArtifactDto(String.valueOf(1250808601744904191L + i),
+                        "Artifact " + i,
+                        "A magical artifact described in a couple of sentences, long enough to look like the real data.",
+                        "https://hogwartsartifactsonline.blob.core.windows.net/artifact-image-container/artifact-" + i + ".jpg",
+                        owner))
+                .toList();
+
+        pageResult = success(new PageImpl<>(artifactDtos, PageRequest.of(0, pageSize), 10_000));
+        slicePageResult = success(new SlicePage<>(artifactDtos, 0, pageSize, true, 10_000L));
+        cursorPageResult = success(new CursorPage<>(artifactDtos, pageSize, true, "eyJpZCI6IjEyNTA4MDg2MDE3NDQ5MDQyMTAifQ"));
+    }
+
+    @Benchmark
+    public byte[] page() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pageResult);
+    }
+
+    @Benchmark
+    public byte[] slicePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(slicePageResult);
+    }
+
+    @Benchmark
+    public byte[] cursorPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cursorPageResult);
+    }
+
+    private static Result success(Object data) {
+        return Result.builder()
+                .flag(true)
+                .code(StatusCode.SUCCESS)
+                .message("Find All Success")
+                .data(data)
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.yvolabs.hogwartsartifactsapi.system.sql;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yvonne N
+ * Cost of the SlowQueryDataSourceProxy (api.slow-query.enabled) on an in-memory H2 select, the way Hibernate runs one:
+ * prepare, bind, execute, read every column of every row, close. Nothing is slow enough to be logged (200ms threshold),
+ * so this is the proxies' own overhead, per statement and per row read.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SlowQueryProxyBenchmark {
+    @Param({"false", "true"})
+    private boolean proxied;
+
+    @Param({"1", "100"})
+    private int rows;
+
+    private Connection keepAlive;
+    private SlowQueryLog slowQueryLog;
+    private Connection connection;
+
+    @Setup
+    public void setUp() throws SQLException {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + UUID.randomUUID());
+        keepAlive = h2.getConnection();
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("create table artifact (id bigint primary key, name varchar(255), description varchar(255), image_url varchar(255), owner_id integer)");
+            statement.execute("insert into artifact select x, 'Artifact ' || x, 'A description of artifact ' || x, 'ImageUrl', mod(x, 10) from system_range(1, 100)");
+        }
+
+        slowQueryLog = new SlowQueryLog(new SlowQueryProperties(true, Duration.ofMillis(200), 100, false, 1));
+        DataSource dataSource = proxied ? SlowQueryDataSourceProxy.wrap(h2, slowQueryLog) : h2;
+        connection = dataSource.getConnection();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+        keepAlive.close();
+        slowQueryLog.close();
+    }
+
+    @Benchmark
+    public void select(Blackhole blackhole) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("select id, name, description, image_url, owner_id from artifact where id <= ? order by id")) {
+            statement.setLong(1, rows);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    blackhole.consume(resultSet.getLong(1));
+                    blackhole.consume(resultSet.getString(2));
+                    blackhole.consume(resultSet.getString(3));
+                    blackhole.consume(resultSet.getString(4));
+                    blackhole.consume(resultSet.getInt(5));
+                }
+            }
+        }
+    }
+}
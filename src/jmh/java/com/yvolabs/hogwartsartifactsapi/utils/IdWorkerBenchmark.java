@@ -0,0 +1,85 @@
+package com.yvolabs.hogwartsartifactsapi.utils;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yvonne N
+ * IdWorker.nextId contention, one shared IdWorker (as the bean is) called from 1, 8 and 64 threads,
+ * against one IdWorker per thread (no shared state, the uncontended baseline) at 8 and 64 threads.
+ * A single IdWorker hands out at most 4096 ids per millisecond, so a shared worker can not average below
+ * 244 ns per id across all threads; per-thread times above that floor times the thread count are contention.
+ * The ids of a 500 artifact batch chunk as 500 nextId() calls and as one nextIds(500), per batch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdWorkerBenchmark {
+    private IdWorker idWorker;
+
+    @Setup
+    public void setUp() {
+        idWorker = new IdWorker(1, 1);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long nextId1Thread() {
+        return idWorker.nextId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long nextId8Threads() {
+        return idWorker.nextId();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public long nextId64Threads() {
+        return idWorker.nextId();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long[] batchOf500ByNextId() {
+        long[] ids = new long[500];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = idWorker.nextId();
+        }
+        return ids;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long[] batchOf500ByNextIds() {
+        return idWorker.nextIds(500);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long nextId8ThreadsOwnWorker(ThreadWorker threadWorker) {
+        return threadWorker.idWorker.nextId();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public long nextId64ThreadsOwnWorker(ThreadWorker threadWorker) {
+        return threadWorker.idWorker.nextId();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadWorker {
+        private IdWorker idWorker;
+
+        @Setup
+        public void setUp(ThreadParams threadParams) {
+            idWorker = new IdWorker(threadParams.getThreadIndex() % 32, threadParams.getThreadIndex() / 32 + 1);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.yvolabs.hogwartsartifactsapi.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Yvonne N
+ * Closed-loop HTTP driver: every client thread picks an operation by weight, sends it and waits for the answer before the next one.
+ * Latencies (microseconds) of the requests answered after the warmup go to one HdrHistogram Recorder per operation.
+ */
+public class LoadDriver {
+    private static final String BASIC_AUTHORIZATION = "Basic " + Base64.getEncoder().encodeToString("john:123456".getBytes(StandardCharsets.UTF_8));
+    private static final int LIST_PAGES = 100;
+
+    private final String baseUrl;
+    private final LoadTestSettings settings;
+    private final SyntheticCatalogue catalogue;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Operation[] weightedOperations;
+    private volatile boolean recording;
+    private String token;
+
+    public LoadDriver(int port, LoadTestSettings settings, SyntheticCatalogue catalogue) {
+        this.baseUrl = "http://localhost:" + port + "/api/v1";
+        this.settings = settings;
+        this.catalogue = catalogue;
+
+        List<Operation> operations = new ArrayList<>();
+        settings.mix().forEach((operation, weight) -> {
+            recorders.put(operation, new Recorder(3));
+            errors.put(operation, new LongAdder());
+            for (int i = 0; i < weight; i++) {
+                operations.add(operation);
+            }
+        });
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix has no operation with a positive weight");
+        }
+        this.weightedOperations = operations.toArray(Operation[]::new);
+    }
+
+    public LoadTestReport run() throws Exception {
+        token = login();
+
+        ExecutorService clients = Executors.newFixedThreadPool(settings.concurrency());
+        long end = System.nanoTime() + settings.warmup().plus(settings.duration()).toNanos();
+        for (int i = 0; i < settings.concurrency(); i++) {
+            Random random = new Random(settings.seed() + i);
+            clients.submit(() -> {
+                while (System.nanoTime() < end) {
+                    send(weightedOperations[random.nextInt(weightedOperations.length)], random);
+                }
+            });
+        }
+
+        Thread.sleep(settings.warmup().toMillis());
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+        recording = true;
+        Thread.sleep(settings.duration().toMillis());
+        recording = false;
+
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.MINUTES);
+
+        return LoadTestReport.of(settings, histograms, errors);
+    }
+
+    private void send(Operation operation, Random random) {
+        HttpRequest request = request(operation, random);
+        long start = System.nanoTime();
+        boolean failed;
+        try {
+            failed = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() >= 400;
+        } catch (IOException e) {
+            failed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long micros = (System.nanoTime() - start) / 1000;
+
+        if (recording) {
+            recorders.get(operation).recordValue(micros);
+            if (failed) {
+                errors.get(operation).increment();
+            }
+        }
+    }
+
+    private HttpRequest request(Operation operation, Random random) {
+        return switch (operation) {
+            case LIST -> HttpRequest.newBuilder(URI.create(baseUrl + "/artifacts?size=20&page=" + random.nextInt(LIST_PAGES)))
+                    .GET()
+                    .build();
+            case SEARCH -> HttpRequest.newBuilder(URI.create(baseUrl + "/artifacts/search?size=20"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(searchCriteria(random)))
+                    .build();
+            case FIND_BY_ID -> HttpRequest.newBuilder(URI.create(baseUrl + "/artifacts/" + randomArtifactId(random)))
+                    .GET()
+                    .build();
+            case ASSIGN -> HttpRequest.newBuilder(URI.create(baseUrl + "/wizards/" + randomWizardId(random) + "/artifacts/" + randomArtifactId(random)))
+                    .header("Authorization", "Bearer " + token)
+                    .PUT(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case LOGIN -> HttpRequest.newBuilder(URI.create(baseUrl + "/users/login"))
+                    .header("Authorization", BASIC_AUTHORIZATION)
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case SUMMARY -> HttpRequest.newBuilder(URI.create(baseUrl + "/artifacts/summary"))
+                    .GET()
+                    .build();
+        };
+    }
+
+    // a name word, a description place, or both
+    private static String searchCriteria(Random random) {
+        return switch (random.nextInt(3)) {
+            case 0 -> "{\"name\": \"" + SyntheticCatalogue.pick(random, SyntheticCatalogue.NOUNS) + "\"}";
+            case 1 -> "{\"description\": \"" + SyntheticCatalogue.pick(random, SyntheticCatalogue.ADJECTIVES).toLowerCase() + "\"}";
+            default -> "{\"name\": \"" + SyntheticCatalogue.pick(random, SyntheticCatalogue.ADJECTIVES) + "\", \"description\": \"Hogwarts\"}";
+        };
+    }
+
+    private long randomArtifactId(Random random) {
+        long[] ids = catalogue.artifactIds();
+        return ids.length > 0 ? ids[random.nextInt(ids.length)] : 1250808601744904191L;
+    }
+
+    private int randomWizardId(Random random) {
+        int[] ids = catalogue.wizardIds();
+        return ids.length > 0 ? ids[random.nextInt(ids.length)] : 1;
+    }
+
+    private String login() throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/users/login"))
+                .header("Authorization", BASIC_AUTHORIZATION)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build(), HttpResponse.BodyHandlers.ofString());
+        JsonNode result = objectMapper.readTree(response.body());
+        return result.path("data").path("token").asText();
+    }
+}
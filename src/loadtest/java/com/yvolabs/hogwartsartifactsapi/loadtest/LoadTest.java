@@ -0,0 +1,37 @@
+package com.yvolabs.hogwartsartifactsapi.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yvolabs.hogwartsartifactsapi.HogwartsArtifactsApiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+
+/**
+ * @author Yvonne N
+ * Self-contained load test: boots the application (H2, dev + loadtest profiles, random port) with a synthetic catalogue,
+ * drives the request mix over HTTP and reports throughput and latency percentiles per endpoint.
+ * Run it with: mvn -Ploadtest -DskipTests verify [-Dloadtest.artifacts=1000000 -Dloadtest.duration=60s ...]
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        // devtools would restart the application in another thread (and exit this one)
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(HogwartsArtifactsApiApplication.class)
+                .profiles("dev", "loadtest")
+                .properties("server.port=0")
+                .run(args)) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+            LoadTestReport report = new LoadDriver(port, settings, context.getBean(SyntheticCatalogue.class)).run();
+
+            System.out.println(report.toTable());
+            Files.createDirectories(settings.output().toAbsolutePath().getParent());
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(settings.output().toFile(), report);
+            System.out.println("Report written to " + settings.output().toAbsolutePath());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.yvolabs.hogwartsartifactsapi.loadtest;
+
+import com.yvolabs.hogwartsartifactsapi.client.ai.chat.ChatClient;
+import com.yvolabs.hogwartsartifactsapi.client.ai.chat.dto.ChatResponse;
+import com.yvolabs.hogwartsartifactsapi.client.ai.chat.dto.Choice;
+import com.yvolabs.hogwartsartifactsapi.client.ai.chat.dto.Message;
+import com.yvolabs.hogwartsartifactsapi.utils.IdWorker;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * @author Yvonne N
+ * Beans of the loadtest profile: the synthetic catalogue and a ChatClient stub (no OpenAI calls, a fixed latency instead).
+ */
+@Configuration
+@Profile("loadtest")
+public class LoadTestConfiguration {
+
+    @Bean
+    public LoadTestSettings loadTestSettings() {
+        return LoadTestSettings.fromSystemProperties();
+    }
+
+    @Bean
+    public SyntheticCatalogue syntheticCatalogue(JdbcTemplate jdbcTemplate, IdWorker idWorker, LoadTestSettings loadTestSettings) {
+        return new SyntheticCatalogue(jdbcTemplate, idWorker, loadTestSettings);
+    }
+
+    @Bean
+    @Primary
+    public ChatClient stubChatClient(LoadTestSettings loadTestSettings) {
+        return chatRequest -> {
+            try {
+                Thread.sleep(loadTestSettings.summaryLatency().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String summary = "A stubbed summary of " + chatRequest.messages().size() + " messages.";
+            return new ChatResponse(List.of(new Choice(0, new Message("assistant", summary))));
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package com.yvolabs.hogwartsartifactsapi.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Yvonne N
+ * Throughput and latency percentiles (milliseconds) per endpoint, printed as a table and written as JSON.
+ */
+public record LoadTestReport(int artifacts,
+                             int wizards,
+                             int concurrency,
+                             double durationSeconds,
+                             List<EndpointResult> endpoints) {
+
+    public record EndpointResult(String operation,
+                                 String endpoint,
+                                 long requests,
+                                 long errors,
+                                 double throughput,
+                                 double p50,
+                                 double p90,
+                                 double p99,
+                                 double p999,
+                                 double max) {
+    }
+
+    static LoadTestReport of(LoadTestSettings settings, Map<Operation, Histogram> histograms, Map<Operation, LongAdder> errors) {
+        double seconds = settings.duration().toMillis() / 1000.0;
+        List<EndpointResult> endpoints = new ArrayList<>();
+        histograms.forEach((operation, histogram) -> endpoints.add(new EndpointResult(
+                operation.getName(),
+                operation.getEndpoint(),
+                histogram.getTotalCount(),
+                errors.get(operation).sum(),
+                round(histogram.getTotalCount() / seconds),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()))));
+
+        return new LoadTestReport(settings.artifacts(), settings.wizards(), settings.concurrency(), seconds, endpoints);
+    }
+
+    String toTable() {
+        StringBuilder table = new StringBuilder(String.format("%-11s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (EndpointResult endpoint : endpoints) {
+            table.append(String.format("%-11s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.operation(), endpoint.requests(), endpoint.errors(), endpoint.throughput(),
+                    endpoint.p50(), endpoint.p90(), endpoint.p99(), endpoint.p999(), endpoint.max()));
+        }
+        return table.toString();
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,63 @@
+package com.yvolabs.hogwartsartifactsapi.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * @author Yvonne N
+ * Load test settings, read from the loadtest.* system properties (see the loadtest Maven profile for the defaults).
+ *
+ * @param artifacts      synthetic artifacts generated on top of the seed data
+ * @param wizards        synthetic wizards, the artifacts are spread over them (a tenth stay unowned)
+ * @param concurrency    client threads, each sends its next request as soon as the previous one is answered
+ * @param warmup         time spent before recording
+ * @param duration       time recorded
+ * @param mix            relative weight of each operation
+ * @param summaryLatency how long the stubbed ChatClient takes to answer
+ * @param seed           random seed of the catalogue and of the request mix
+ * @param output         where the JSON report is written
+ */
+public record LoadTestSettings(int artifacts,
+                               int wizards,
+                               int concurrency,
+                               Duration warmup,
+                               Duration duration,
+                               Map<Operation, Integer> mix,
+                               Duration summaryLatency,
+                               long seed,
+                               Path output) {
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.artifacts", 1_000_000),
+                Integer.getInteger("loadtest.wizards", 50_000),
+                Integer.getInteger("loadtest.concurrency", 32),
+                duration("loadtest.warmup", "30s"),
+                duration("loadtest.duration", "60s"),
+                parseMix(System.getProperty("loadtest.mix", "list=30,search=20,find-by-id=35,assign=8,login=5,summary=2")),
+                duration("loadtest.summary-latency", "200ms"),
+                Long.getLong("loadtest.seed", 42),
+                Path.of(System.getProperty("loadtest.output", "target/loadtest-result.json")));
+    }
+
+    // e.g. "list=30,search=20,find-by-id=35", operations not listed are not sent
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] nameAndWeight = entry.trim().split("=");
+            if (nameAndWeight.length != 2) {
+                throw new IllegalArgumentException("loadtest.mix entries must look like name=weight, got: " + entry);
+            }
+            weights.put(Operation.fromName(nameAndWeight[0].trim()), Integer.parseInt(nameAndWeight[1].trim()));
+        }
+        return weights;
+    }
+
+    private static Duration duration(String property, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+    }
+}
@@ -0,0 +1,39 @@
+package com.yvolabs.hogwartsartifactsapi.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * @author Yvonne N
+ * The requests of the load test mix, named as in loadtest.mix.
+ */
+public enum Operation {
+    LIST("list", "GET /api/v1/artifacts"),
+    SEARCH("search", "POST /api/v1/artifacts/search"),
+    FIND_BY_ID("find-by-id", "GET /api/v1/artifacts/{artifactId}"),
+    ASSIGN("assign", "PUT /api/v1/wizards/{wizardId}/artifacts/{artifactId}"),
+    LOGIN("login", "POST /api/v1/users/login"),
+    SUMMARY("summary", "GET /api/v1/artifacts/summary");
+
+    private final String name;
+    private final String endpoint;
+
+    Operation(String name, String endpoint) {
+        this.name = name;
+        this.endpoint = endpoint;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    static Operation fromName(String name) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.name.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown load test operation: " + name));
+    }
+}
@@ -0,0 +1,100 @@
+package com.yvolabs.hogwartsartifactsapi.loadtest;
+
+import com.yvolabs.hogwartsartifactsapi.utils.IdWorker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author Yvonne N
+ * Inserts the synthetic wizards and artifacts with plain JDBC batches before the application is ready
+ * (so the trigram index is built over them), and keeps their ids for the load driver to pick from.
+ * Names and descriptions are drawn from small vocabularies, so the search terms of the driver match a realistic share of them.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticCatalogue implements ApplicationRunner {
+    static final String[] ADJECTIVES = {"Ancient", "Cursed", "Enchanted", "Golden", "Hidden", "Silver", "Shadow", "Crystal", "Elder", "Lost"};
+    static final String[] NOUNS = {"Wand", "Cloak", "Stone", "Map", "Sword", "Locket", "Cup", "Diadem", "Mirror", "Quill", "Goblet", "Ring"};
+    private static final String[] PLACES = {"Hogwarts", "Hogsmeade", "Diagon Alley", "the Forbidden Forest", "Azkaban", "Gringotts"};
+    private static final String[] FIRST_NAMES = {"Albus", "Harry", "Hermione", "Ron", "Neville", "Luna", "Ginny", "Severus", "Minerva", "Rubeus"};
+    private static final String[] LAST_NAMES = {"Dumbledore", "Potter", "Granger", "Weasley", "Longbottom", "Lovegood", "Snape", "McGonagall", "Hagrid", "Black"};
+    private static final int CHUNK_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdWorker idWorker;
+    private final LoadTestSettings settings;
+
+    private long[] artifactIds = new long[0];
+    private int[] wizardIds = new int[0];
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        Random random = new Random(settings.seed());
+
+        wizardIds = insertWizards(random);
+        artifactIds = insertArtifacts(random);
+
+        log.warn("Synthetic catalogue of {} wizards and {} artifacts generated in {} ms",
+                wizardIds.length, artifactIds.length, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public long[] artifactIds() {
+        return artifactIds;
+    }
+
+    public int[] wizardIds() {
+        return wizardIds;
+    }
+
+    private int[] insertWizards(Random random) {
+        // ids from the sequence Hibernate allocates from, so wizards created during the test don't collide with them
+        int[] ids = new int[settings.wizards()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = jdbcTemplate.queryForObject("select next value for wizard_seq", Integer.class);
+        }
+
+        for (int from = 0; from < ids.length; from += CHUNK_SIZE) {
+            List<Object[]> rows = new ArrayList<>(CHUNK_SIZE);
+            for (int i = from; i < Math.min(from + CHUNK_SIZE, ids.length); i++) {
+                rows.add(new Object[]{ids[i], pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES) + " " + i});
+            }
+            jdbcTemplate.batchUpdate("insert into wizard (id, name) values (?, ?)", rows);
+        }
+        return ids;
+    }
+
+    private long[] insertArtifacts(Random random) {
+        long[] ids = new long[settings.artifacts()];
+        for (int from = 0; from < ids.length; from += CHUNK_SIZE) {
+            int count = Math.min(CHUNK_SIZE, ids.length - from);
+            long[] chunkIds = idWorker.nextIds(count);
+            System.arraycopy(chunkIds, 0, ids, from, count);
+
+            List<Object[]> rows = new ArrayList<>(count);
+            for (long id : chunkIds) {
+                String noun = pick(random, NOUNS);
+                Integer ownerId = wizardIds.length == 0 || random.nextInt(10) == 0 ? null : wizardIds[random.nextInt(wizardIds.length)];
+                rows.add(new Object[]{
+                        id,
+                        pick(random, ADJECTIVES) + " " + noun + " " + id % 100_000,
+                        "A " + pick(random, ADJECTIVES).toLowerCase() + " " + noun.toLowerCase() + " found near " + pick(random, PLACES) + ".",
+                        "ImageUrl",
+                        ownerId});
+            }
+            jdbcTemplate.batchUpdate("insert into artifact (id, name, description, image_url, owner_id) values (?, ?, ?, ?, ?)", rows);
+        }
+        return ids;
+    }
+
+    static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
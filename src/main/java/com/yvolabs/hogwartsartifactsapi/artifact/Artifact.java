@@ -8,11 +8,15 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.io.Serializable;
 
 /**
  * @author Yvonne N
+ * The id is IdWorker's 64-bit number: a String in Java and in the API, stored as a BIGINT (8 byte key, index and joins).
+ * Only well-formed ids (isWellFormedId) can be bound to it, any other id matches no artifact.
  */
 @Entity
 @Data
@@ -21,6 +25,7 @@ import java.io.Serializable;
 @Builder
 public class Artifact implements Serializable {
     @Id
+    @JdbcTypeCode(SqlTypes.BIGINT)
     private String id;
 
     private String name;
@@ -31,4 +36,19 @@ public class Artifact implements Serializable {
 
     @ManyToOne
     private Wizard owner;
+
+    /**
+     * Whether the id can be an artifact id at all, i.e. a decimal long.
+     */
+    public static boolean isWellFormedId(String id) {
+        if (id == null || id.isEmpty() || id.length() > 20) {
+            return false;
+        }
+        try {
+            Long.parseLong(id);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
 }
@@ -1,21 +1,41 @@
 package com.yvolabs.hogwartsartifactsapi.artifact;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yvolabs.hogwartsartifactsapi.artifact.converter.ArtifactDtoToArtifactConverter;
 import com.yvolabs.hogwartsartifactsapi.artifact.converter.ArtifactToArtifactDtoConverter;
+import com.yvolabs.hogwartsartifactsapi.artifact.dto.ArtifactBatchItemResult;
 import com.yvolabs.hogwartsartifactsapi.artifact.dto.ArtifactDto;
+import com.yvolabs.hogwartsartifactsapi.system.CursorPage;
 import com.yvolabs.hogwartsartifactsapi.system.Result;
+import com.yvolabs.hogwartsartifactsapi.system.SlicePage;
 import com.yvolabs.hogwartsartifactsapi.system.StatusCode;
-import io.micrometer.core.instrument.MeterRegistry;
+import com.yvolabs.hogwartsartifactsapi.system.exception.BatchTooLargeException;
+import com.yvolabs.hogwartsartifactsapi.system.exception.InvalidCountModeException;
+import com.yvolabs.hogwartsartifactsapi.system.exception.InvalidCursorException;
+import com.yvolabs.hogwartsartifactsapi.system.exception.TooManyExportsException;
+import com.yvolabs.hogwartsartifactsapi.system.jfr.ConverterBatchEvent;
+import com.yvolabs.hogwartsartifactsapi.utils.KeysetCursorCodec;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
-import java.util.Map;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.Semaphore;
 
 /**
  * @author Yvonne N
@@ -24,19 +44,41 @@ import java.util.Map;
 @RequiredArgsConstructor
 @RequestMapping("${api.endpoint.base-url}/artifacts")
 public class ArtifactController {
+    private static final String COUNT_NONE = "none";
+    private static final String COUNT_EXACT = "exact";
+    private static final String COUNT_APPROXIMATE = "approximate";
+    private static final List<String> COUNT_MODES = List.of(COUNT_NONE, COUNT_APPROXIMATE, COUNT_EXACT);
+
     private final ArtifactService artifactService;
     private final ArtifactToArtifactDtoConverter artifactToArtifactDtoConverter;
     private final ArtifactDtoToArtifactConverter artifactDtoToArtifactConverter;
-    private final MeterRegistry meterRegistry;
+    private final ArtifactPopularityTracker artifactPopularityTracker;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${api.batch.max-size:10000}")
+    private int batchMaxSize;
+
+    // each export holds a connection for as long as it streams
+    private int exportMaxConcurrent;
+    private Semaphore exportPermits;
+
+    @Value("${api.export.max-concurrent:2}")
+    void setExportMaxConcurrent(int exportMaxConcurrent) {
+        if (exportMaxConcurrent < 1) {
+            throw new IllegalArgumentException("api.export.max-concurrent must be at least 1, was " + exportMaxConcurrent);
+        }
+        this.exportMaxConcurrent = exportMaxConcurrent;
+        this.exportPermits = new Semaphore(exportMaxConcurrent);
+    }
 
     @GetMapping("/{artifactId}")
     public ResponseEntity<Result> findArtifactById(@PathVariable String artifactId) {
-        Artifact foundArtifact = artifactService.findById(artifactId);
+        ArtifactDto artifactDto = artifactService.findDtoById(artifactId);
 
-        // custom metric example
-        meterRegistry.counter("artifacts.id." + artifactId).increment();
+        // popularity in fixed memory, see actuator/artifact-popularity
+        artifactPopularityTracker.record(artifactId);
 
-        ArtifactDto artifactDto = artifactToArtifactDtoConverter.convert(foundArtifact);
         Result result = Result.builder()
                 .flag(true)
                 .code(StatusCode.SUCCESS)
@@ -50,12 +92,8 @@ public class ArtifactController {
     // pagination - artifacts?page=2&size=2&sort=name,desc
     @GetMapping
     public ResponseEntity<Result> findAllArtifacts(Pageable pageable) {
-        // find all returns a page of artifacts
-        Page<Artifact> artifactPage = artifactService.findAll(pageable);
-
-        // convert artifactPage to a page of artifactDtos
-        Page<ArtifactDto> artifactDtoPage = artifactPage
-                .map(artifactToArtifactDtoConverter::convert);
+        // find all returns a page of artifactDtos, projected by the query (no converter needed)
+        Page<ArtifactDto> artifactDtoPage = artifactService.findAllDtos(pageable);
 
         Result result = Result.builder()
                 .flag(true)
@@ -67,6 +105,75 @@ public class ArtifactController {
         return ResponseEntity.ok(result);
     }
 
+    // export - artifacts/export?afterId={last id received}, one artifactDto json per line (NDJSON), not wrapped in a Result
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportArtifacts(@RequestParam(required = false) String afterId) {
+        // checked here, once the body streams the 200 is already committed
+        if (StringUtils.hasText(afterId) && !Artifact.isWellFormedId(afterId)) {
+            throw new InvalidCursorException(afterId);
+        }
+        if (!exportPermits.tryAcquire()) {
+            throw new TooManyExportsException(exportMaxConcurrent);
+        }
+        StreamingResponseBody body = outputStream -> {
+            try {
+                artifactService.exportAll(afterId, artifact -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(artifactToArtifactDtoConverter.convert(artifact)));
+                        outputStream.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } finally {
+                exportPermits.release();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // keyset pagination - artifacts?cursor=&size=2&sort=name,asc, then artifacts?cursor={nextCursor}&size=2
+    // every page costs the same, no matter how deep the client walks (no OFFSET scan)
+    @GetMapping(params = "cursor")
+    public ResponseEntity<Result> findAllArtifactsByCursor(@RequestParam String cursor, Pageable pageable) {
+        KeysetCursorCodec.Cursor decodedCursor = KeysetCursorCodec.decode(cursor, pageable.getSort());
+        Window<Artifact> artifactWindow = artifactService.findAll(decodedCursor.position(), pageable.getPageSize(), decodedCursor.sort());
+
+        Result result = Result.builder()
+                .flag(true)
+                .code(StatusCode.SUCCESS)
+                .message("Find All Success")
+                .data(toCursorPage(artifactWindow, decodedCursor))
+                .build();
+
+        return ResponseEntity.ok(result);
+    }
+
+    // count-free pagination - artifacts?page=2&size=2&count=none, no COUNT(*) query, only hasNext
+    // count=approximate adds a cached total, count=exact is the same as findAllArtifacts
+    @GetMapping(params = {"count", "!cursor"})
+    public ResponseEntity<Result> findAllArtifactsWithoutCount(@RequestParam String count, Pageable pageable) {
+        checkCountMode(count);
+        if (COUNT_EXACT.equals(count)) {
+            return findAllArtifacts(pageable);
+        }
+
+        Slice<Artifact> artifactSlice = artifactService.findAllWithoutCount(pageable);
+        Long approximateTotal = COUNT_APPROXIMATE.equals(count) ? artifactService.countByCriteria(Map.of()) : null;
+
+        Result result = Result.builder()
+                .flag(true)
+                .code(StatusCode.SUCCESS)
+                .message("Find All Success")
+                .data(toSlicePage(artifactSlice, approximateTotal))
+                .build();
+
+        return ResponseEntity.ok(result);
+    }
+
     @PostMapping
     public ResponseEntity<Result> addArtifact(@Valid @RequestBody ArtifactDto artifactDto) {
         Artifact newArtifact = artifactDtoToArtifactConverter.convert(artifactDto);
@@ -81,6 +188,48 @@ public class ArtifactController {
         return ResponseEntity.ok(result);
     }
 
+    // catalogue import - every item is validated on its own, the invalid ones are reported and skipped, see ArtifactServiceImpl::saveAll
+    @PostMapping("/batch")
+    public ResponseEntity<Result> addArtifacts(@RequestBody List<ArtifactDto> artifactDtos) {
+        if (artifactDtos.size() > batchMaxSize) {
+            throw new BatchTooLargeException(artifactDtos.size(), batchMaxSize);
+        }
+
+        ArtifactBatchItemResult[] results = new ArtifactBatchItemResult[artifactDtos.size()];
+        List<Artifact> newArtifacts = new ArrayList<>(artifactDtos.size());
+        List<Integer> newArtifactIndexes = new ArrayList<>(artifactDtos.size());
+        for (int i = 0; i < artifactDtos.size(); i++) {
+            if (artifactDtos.get(i) == null) {
+                results[i] = ArtifactBatchItemResult.invalid(i, Map.of("artifact", "artifact is required."));
+                continue;
+            }
+            Set<ConstraintViolation<ArtifactDto>> violations = validator.validate(artifactDtos.get(i));
+            if (violations.isEmpty()) {
+                newArtifacts.add(artifactDtoToArtifactConverter.convert(artifactDtos.get(i)));
+                newArtifactIndexes.add(i);
+            } else {
+                Map<String, String> errors = new HashMap<>(violations.size());
+                violations.forEach(violation -> errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+                results[i] = ArtifactBatchItemResult.invalid(i, errors);
+            }
+        }
+
+        List<ArtifactBatchItemResult> savedResults = newArtifacts.isEmpty() ? List.of() : artifactService.saveAll(newArtifacts);
+        for (int i = 0; i < savedResults.size(); i++) {
+            int index = newArtifactIndexes.get(i);
+            results[index] = savedResults.get(i).withIndex(index);
+        }
+
+        Result result = Result.builder()
+                .flag(true)
+                .code(StatusCode.SUCCESS)
+                .message("Batch Add Success")
+                .data(Arrays.asList(results))
+                .build();
+
+        return ResponseEntity.ok(result);
+    }
+
     @PutMapping("/{artifactId}")
     public ResponseEntity<Result> updateArtifact(@PathVariable String artifactId, @Valid @RequestBody ArtifactDto artifactDto) {
         Artifact update = artifactDtoToArtifactConverter.convert(artifactDto);
@@ -110,9 +259,7 @@ public class ArtifactController {
     // Use with Caution: This endpoint when successfully called will incur a charge from open-ai
     public Result summarizeArtifacts() throws JsonProcessingException {
         List<Artifact> foundArtifacts = artifactService.findAll();
-        List<ArtifactDto> artifactDtos = foundArtifacts.stream()
-                .map(artifactToArtifactDtoConverter::convert)
-                .toList();
+        List<ArtifactDto> artifactDtos = ConverterBatchEvent.convertAll(artifactToArtifactDtoConverter, foundArtifacts);
 
         String artifactSummary = artifactService.summarize(artifactDtos);
 
@@ -128,10 +275,7 @@ public class ArtifactController {
     @PostMapping("/search")
     public Result findArtifactsByCriteria(@RequestBody Map<String, String> searchCriteria, Pageable pageable) {
 
-        Page<Artifact> artifactPage = artifactService.findByCriteria(searchCriteria, pageable);
-
-        Page<ArtifactDto> artifactDtoPage = artifactPage
-                .map(artifactToArtifactDtoConverter::convert);
+        Page<ArtifactDto> artifactDtoPage = artifactService.findDtosByCriteria(searchCriteria, pageable);
 
         return Result.builder()
                 .flag(true)
@@ -141,4 +285,59 @@ public class ArtifactController {
                 .build();
 
     }
+
+    // Find artifacts by search criteria with keyset pagination, see findAllArtifactsByCursor
+    @PostMapping(value = "/search", params = "cursor")
+    public Result findArtifactsByCriteriaAndCursor(@RequestBody Map<String, String> searchCriteria, @RequestParam String cursor, Pageable pageable) {
+        KeysetCursorCodec.Cursor decodedCursor = KeysetCursorCodec.decode(cursor, pageable.getSort());
+        Window<Artifact> artifactWindow = artifactService.findByCriteria(searchCriteria, decodedCursor.position(), pageable.getPageSize(), decodedCursor.sort());
+
+        return Result.builder()
+                .flag(true)
+                .code(StatusCode.SUCCESS)
+                .message("Search Success")
+                .data(toCursorPage(artifactWindow, decodedCursor))
+                .build();
+    }
+
+    // Find artifacts by search criteria without the COUNT(*) query, see findAllArtifactsWithoutCount
+    @PostMapping(value = "/search", params = {"count", "!cursor"})
+    public Result findArtifactsByCriteriaWithoutCount(@RequestBody Map<String, String> searchCriteria, @RequestParam String count, Pageable pageable) {
+        checkCountMode(count);
+        if (COUNT_EXACT.equals(count)) {
+            return findArtifactsByCriteria(searchCriteria, pageable);
+        }
+
+        Slice<Artifact> artifactSlice = artifactService.findByCriteriaWithoutCount(searchCriteria, pageable);
+        Long approximateTotal = COUNT_APPROXIMATE.equals(count) ? artifactService.countByCriteria(searchCriteria) : null;
+
+        return Result.builder()
+                .flag(true)
+                .code(StatusCode.SUCCESS)
+                .message("Search Success")
+                .data(toSlicePage(artifactSlice, approximateTotal))
+                .build();
+    }
+
+    private static void checkCountMode(String count) {
+        if (!COUNT_MODES.contains(count)) {
+            throw new InvalidCountModeException(count, COUNT_MODES);
+        }
+    }
+
+    private SlicePage<ArtifactDto> toSlicePage(Slice<Artifact> artifactSlice, Long approximateTotal) {
+        List<ArtifactDto> artifactDtos = ConverterBatchEvent.convertAll(artifactToArtifactDtoConverter, artifactSlice.getContent());
+
+        return new SlicePage<>(artifactDtos, artifactSlice.getNumber(), artifactSlice.getSize(), artifactSlice.hasNext(), approximateTotal);
+    }
+
+    private CursorPage<ArtifactDto> toCursorPage(Window<Artifact> artifactWindow, KeysetCursorCodec.Cursor cursor) {
+        List<ArtifactDto> artifactDtos = ConverterBatchEvent.convertAll(artifactToArtifactDtoConverter, artifactWindow.getContent());
+
+        String nextCursor = artifactWindow.hasNext() && !artifactWindow.isEmpty() ?
+                KeysetCursorCodec.encode((KeysetScrollPosition) artifactWindow.positionAt(artifactWindow.size() - 1), cursor.sort()) :
+                null;
+
+        return new CursorPage<>(artifactDtos, artifactWindow.size(), artifactWindow.hasNext(), nextCursor);
+    }
 }
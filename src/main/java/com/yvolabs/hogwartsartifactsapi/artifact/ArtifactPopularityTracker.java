@@ -0,0 +1,74 @@
+package com.yvolabs.hogwartsartifactsapi.artifact;
+
+import com.yvolabs.hogwartsartifactsapi.utils.HeavyHitterSketch;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author Yvonne N
+ * Most looked up artifacts (GET /artifacts/{artifactId}) in fixed memory, replaces the former per-id counters ("artifacts.id." + artifactId)
+ * which grew the meter registry with every distinct id. Details through the artifact-popularity actuator endpoint,
+ * metrics are a fixed set of meters: artifacts.lookups (all lookups) and artifacts.popularity{rank=1..n} (estimated lookups of the n-th most popular artifact).
+ */
+@Component
+public class ArtifactPopularityTracker {
+    private final int topK;
+    private final int width;
+    private final int depth;
+
+    // reset() swaps the whole sketch, so record() never waits for it
+    private final AtomicReference<HeavyHitterSketch> sketch;
+
+    public ArtifactPopularityTracker(MeterRegistry meterRegistry,
+                                     @Value("${api.popularity.top-k:20}") int topK,
+                                     @Value("${api.popularity.width:2048}") int width,
+                                     @Value("${api.popularity.depth:4}") int depth,
+                                     @Value("${api.popularity.gauges:5}") int gauges) {
+        this.topK = topK;
+        this.width = width;
+        this.depth = depth;
+        this.sketch = new AtomicReference<>(new HeavyHitterSketch(topK, width, depth));
+
+        FunctionCounter.builder("artifacts.lookups", this, tracker -> tracker.sketch.get().totalCount())
+                .description("Artifact lookups by id since the last reset")
+                .register(meterRegistry);
+        for (int rank = 1; rank <= Math.min(gauges, topK); rank++) {
+            int index = rank - 1;
+            Gauge.builder("artifacts.popularity", this, tracker -> tracker.estimatedCountAt(index))
+                    .description("Estimated lookups of the n-th most looked up artifact")
+                    .tag("rank", String.valueOf(rank))
+                    .register(meterRegistry);
+        }
+    }
+
+    public void record(String artifactId) {
+        sketch.get().record(artifactId);
+    }
+
+    public List<HeavyHitterSketch.HeavyHitter> topArtifacts() {
+        return sketch.get().topK();
+    }
+
+    public long totalLookups() {
+        return sketch.get().totalCount();
+    }
+
+    public long errorBound() {
+        return sketch.get().errorBound();
+    }
+
+    public void reset() {
+        sketch.set(new HeavyHitterSketch(topK, width, depth));
+    }
+
+    private double estimatedCountAt(int index) {
+        List<HeavyHitterSketch.HeavyHitter> topArtifacts = topArtifacts();
+        return index < topArtifacts.size() ? topArtifacts.get(index).estimatedCount() : 0;
+    }
+}
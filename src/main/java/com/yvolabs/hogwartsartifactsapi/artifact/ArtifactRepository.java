@@ -1,9 +1,21 @@
 package com.yvolabs.hogwartsartifactsapi.artifact;
 
+import com.yvolabs.hogwartsartifactsapi.artifact.dto.ArtifactDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * @author Yvonne N
  * @apiNote To support Specification, We need to extend repo with JpaSpecificationExecutor Class
@@ -11,8 +23,46 @@ import org.springframework.stereotype.Repository;
  *          The findAll(Specification<T> spec) will be called
  * @see     ArtifactController ::summarizeArtifacts
  * @see     ArtifactSpecs
-
+ * @see     ArtifactRepositoryCustom
+ *
+ * @apiNote The owner is fetched in the same select (@EntityGraph) instead of one select per owner of the page,
+ *          the owner's number of artifacts comes with it (Wizard::artifactCount).
+ *
+ * @apiNote The *Dtos queries build the DTO records directly in the select (projection), no entity is loaded into the persistence context.
  */
 @Repository
-public interface ArtifactRepository extends JpaRepository<Artifact, String>, JpaSpecificationExecutor<Artifact> {
+public interface ArtifactRepository extends JpaRepository<Artifact, String>, JpaSpecificationExecutor<Artifact>, ArtifactRepositoryCustom {
+
+    @Override
+    @EntityGraph(attributePaths = "owner")
+    Optional<Artifact> findById(String id);
+
+    @Override
+    @EntityGraph(attributePaths = "owner")
+    Page<Artifact> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "owner")
+    Page<Artifact> findAll(Specification<Artifact> spec, Pageable pageable);
+
+    @EntityGraph(attributePaths = "owner")
+    List<Artifact> findAllByIdIn(Collection<String> ids);
+
+    // set-based ownership change, no artifact or wizard (nor its artifacts collection) is loaded; already owned artifacts are not counted
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Artifact a set a.owner.id = :wizardId where a.id in :artifactIds and (a.owner is null or a.owner.id <> :wizardId)")
+    int assignOwner(@Param("wizardId") Integer wizardId, @Param("artifactIds") Collection<String> artifactIds);
+
+    @Query(value = "select new com.yvolabs.hogwartsartifactsapi.artifact.dto.ArtifactDto(a.id, a.name, a.description, a.imageUrl, o.id, o.name, o.artifactCount) " +
+            "from Artifact a left join a.owner o",
+            countQuery = "select count(a) from Artifact a")
+    Page<ArtifactDto> findAllDtos(Pageable pageable);
+
+    @Query("select new com.yvolabs.hogwartsartifactsapi.artifact.dto.ArtifactDto(a.id, a.name, a.description, a.imageUrl, o.id, o.name, o.artifactCount) " +
+            "from Artifact a left join a.owner o where a.id = :id")
+    Optional<ArtifactDto> findDtoById(@Param("id") String id);
+
+    @Query("select new com.yvolabs.hogwartsartifactsapi.artifact.dto.ArtifactDto(a.id, a.name, a.description, a.imageUrl, o.id, o.name, o.artifactCount) " +
+            "from Artifact a left join a.owner o where a.id in :ids")
+    List<ArtifactDto> findDtosByIdIn(@Param("ids") Collection<String> ids);
 }
@@ -0,0 +1,41 @@
+package com.yvolabs.hogwartsartifactsapi.artifact;
+
+import com.yvolabs.hogwartsartifactsapi.artifact.dto.ArtifactDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * @author Yvonne N
+ * Custom repository fragment, implemented in ArtifactRepositoryCustomImpl and mixed into ArtifactRepository by Spring Data.
+ */
+public interface ArtifactRepositoryCustom {
+
+    /**
+     * Like findAll(Specification, Pageable) but without the extra COUNT(*) query,
+     * one more row than the page size is read to know if there is a next slice.
+     */
+    Slice<Artifact> findSlice(Specification<Artifact> spec, Pageable pageable);
+
+    /**
+     * Like findAll(Specification, Pageable) but projected straight into the dtos (owner left joined), no entity is loaded.
+     * The COUNT(*) query only runs when the page alone does not tell the total.
+     */
+    Page<ArtifactDto> findDtos(Specification<Artifact> spec, Pageable pageable);
+
+    /**
+     * Streams all artifacts (owner fetched) ordered by id from a database cursor, starting after the given id (null for all).
+     * Every row is detached once read so the persistence context does not grow, must be consumed in a transaction and closed.
+     */
+    Stream<Artifact> streamAll(String afterId);
+
+    /**
+     * Persists (never merges) new artifacts with an assigned id, then flushes and clears the persistence context.
+     * With hibernate.jdbc.batch_size the inserts go out as JDBC batches, must be called in a transaction.
+     */
+    void persistAll(List<Artifact> newArtifacts);
+}
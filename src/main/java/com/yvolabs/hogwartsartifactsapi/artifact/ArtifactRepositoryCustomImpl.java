@@ -0,0 +1,132 @@
+package com.yvolabs.hogwartsartifactsapi.artifact;
+
+import com.yvolabs.hogwartsartifactsapi.artifact.dto.ArtifactDto;
+import com.yvolabs.hogwartsartifactsapi.wizard.Wizard;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * @author Yvonne N
+ */
+public class ArtifactRepositoryCustomImpl implements ArtifactRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${api.export.fetch-size:500}")
+    private int exportFetchSize;
+
+    @Override
+    public Slice<Artifact> findSlice(Specification<Artifact> spec, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Artifact> query = criteriaBuilder.createQuery(Artifact.class);
+        Root<Artifact> root = query.from(Artifact.class);
+
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+
+        // fetch the owner in the same select, see ArtifactRepository
+        EntityGraph<Artifact> ownerGraph = entityManager.createEntityGraph(Artifact.class);
+        ownerGraph.addAttributeNodes("owner");
+
+        TypedQuery<Artifact> typedQuery = entityManager.createQuery(query)
+                .setHint(AvailableHints.HINT_SPEC_LOAD_GRAPH, ownerGraph);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(typedQuery.getResultList());
+        }
+
+        // read one extra row, if it exists there is a next slice
+        typedQuery.setFirstResult((int) pageable.getOffset());
+        typedQuery.setMaxResults(pageable.getPageSize() + 1);
+        List<Artifact> content = typedQuery.getResultList();
+
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @Override
+    public Page<ArtifactDto> findDtos(Specification<Artifact> spec, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ArtifactDto> query = criteriaBuilder.createQuery(ArtifactDto.class);
+        Root<Artifact> root = query.from(Artifact.class);
+        Join<Artifact, Wizard> owner = root.join("owner", JoinType.LEFT);
+
+        // same columns as ArtifactRepository::findAllDtos
+        query.select(criteriaBuilder.construct(ArtifactDto.class,
+                root.get("id"), root.get("name"), root.get("description"), root.get("imageUrl"),
+                owner.get("id"), owner.get("name"), owner.get("artifactCount")));
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+
+        TypedQuery<ArtifactDto> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> count(spec));
+    }
+
+    private long count(Specification<Artifact> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Artifact> root = query.from(Artifact.class);
+
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(criteriaBuilder.count(root));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public Stream<Artifact> streamAll(String afterId) {
+        TypedQuery<Artifact> query = afterId == null ?
+                entityManager.createQuery("select a from Artifact a left join fetch a.owner order by a.id", Artifact.class) :
+                entityManager.createQuery("select a from Artifact a left join fetch a.owner where a.id > :afterId order by a.id", Artifact.class)
+                        .setParameter("afterId", afterId);
+
+        query.setHint(AvailableHints.HINT_FETCH_SIZE, exportFetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true);
+
+        // the owner is already loaded, so the detached artifact can still be converted
+        return query.getResultStream()
+                .peek(entityManager::detach);
+    }
+
+    // save() would merge (one select per artifact) because the id is assigned up front
+    @Override
+    public void persistAll(List<Artifact> newArtifacts) {
+        newArtifacts.forEach(entityManager::persist);
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
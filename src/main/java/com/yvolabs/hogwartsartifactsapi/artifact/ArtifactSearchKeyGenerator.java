@@ -0,0 +1,30 @@
+package com.yvolabs.hogwartsartifactsapi.artifact;
+
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * @author Yvonne N
+ * Cache key for methods taking artifact search criteria, e.g. ArtifactServiceImpl::countByCriteria
+ * The criteria map is normalized first (ArtifactSpecs::normalize), so {"name": "Cloak", "description": ""} and {"name": "cloak"} share a key.
+ */
+@Component
+public class ArtifactSearchKeyGenerator implements KeyGenerator {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object generate(Object target, Method method, Object... params) {
+        Object[] keyParams = Arrays.stream(params)
+                .map(param -> param instanceof Map<?, ?> searchCriteria ?
+                        ArtifactSpecs.normalize((Map<String, String>) searchCriteria) :
+                        param)
+                .toArray();
+
+        return new SimpleKey(keyParams);
+    }
+}
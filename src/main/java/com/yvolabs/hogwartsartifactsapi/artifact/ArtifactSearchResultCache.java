@@ -0,0 +1,53 @@
+package com.yvolabs.hogwartsartifactsapi.artifact;
+
+import com.yvolabs.hogwartsartifactsapi.system.cache.CacheConfiguration;
+import com.yvolabs.hogwartsartifactsapi.system.cache.GenerationalCache;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * @author Yvonne N
+ * Search result cache of ArtifactServiceImpl::findByCriteria, keyed on the normalized criteria (ArtifactSpecs::normalize) and the Pageable (page, size, sort).
+ * Only the ids of the page and the total are cached, never the entities, the artifacts themselves are always read fresh.
+ * The whole cache is evicted by every artifact write and ownership change (@CacheEvict CacheConfiguration.ARTIFACT_SEARCHES).
+ * A search reads the generation() before it queries and puts its page with it: if a write evicted the cache since, the page is not cached.
+ */
+@Component
+public class ArtifactSearchResultCache {
+    private final Cache cache;
+    private final GenerationalCache generationalCache;
+
+    public ArtifactSearchResultCache(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CacheConfiguration.ARTIFACT_SEARCHES);
+        this.generationalCache = (GenerationalCache) ((TransactionAwareCacheDecorator) cache).getTargetCache();
+    }
+
+    public long generation() {
+        return generationalCache.getGeneration();
+    }
+
+    public Optional<CachedSearch> get(Map<String, String> searchCriteria, Pageable pageable) {
+        return Optional.ofNullable(cache.get(key(searchCriteria, pageable), CachedSearch.class));
+    }
+
+    // the page of the search mapped to the artifact ids, generation read before the search queried
+    public void put(Map<String, String> searchCriteria, Pageable pageable, Page<String> idPage, long generation) {
+        cache.put(key(searchCriteria, pageable), new CachedSearch(idPage.getContent(), idPage.getTotalElements(), generation));
+    }
+
+    private static SimpleKey key(Map<String, String> searchCriteria, Pageable pageable) {
+        return new SimpleKey(ArtifactSpecs.normalize(searchCriteria), pageable);
+    }
+
+    public record CachedSearch(List<String> ids, long total, long generation) implements GenerationalCache.Stamped {
+    }
+}
@@ -1,12 +1,18 @@
 package com.yvolabs.hogwartsartifactsapi.artifact;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.yvolabs.hogwartsartifactsapi.artifact.dto.ArtifactBatchItemResult;
 import com.yvolabs.hogwartsartifactsapi.artifact.dto.ArtifactDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * @author Yvonne N
@@ -14,12 +20,24 @@ import java.util.Map;
 public interface ArtifactService {
     Artifact findById(String artifactId);
 
+    ArtifactDto findDtoById(String artifactId);
+
     List<Artifact> findAll();
 
     Page<Artifact> findAll(Pageable pageable);
 
+    Page<ArtifactDto> findAllDtos(Pageable pageable);
+
+    void exportAll(String afterId, Consumer<Artifact> consumer);
+
+    Window<Artifact> findAll(ScrollPosition scrollPosition, int limit, Sort sort);
+
+    Slice<Artifact> findAllWithoutCount(Pageable pageable);
+
     Artifact save(Artifact newArtifact);
 
+    List<ArtifactBatchItemResult> saveAll(List<Artifact> newArtifacts);
+
     Artifact update(String artifactId, Artifact update);
 
     void delete(String artifactId);
@@ -28,4 +46,12 @@ public interface ArtifactService {
 
     Page<Artifact> findByCriteria(Map<String, String> searchCriteria, Pageable pageable);
 
+    Page<ArtifactDto> findDtosByCriteria(Map<String, String> searchCriteria, Pageable pageable);
+
+    Window<Artifact> findByCriteria(Map<String, String> searchCriteria, ScrollPosition scrollPosition, int limit, Sort sort);
+
+    Slice<Artifact> findByCriteriaWithoutCount(Map<String, String> searchCriteria, Pageable pageable);
+
+    long countByCriteria(Map<String, String> searchCriteria);
+
 }
@@ -2,26 +2,49 @@ package com.yvolabs.hogwartsartifactsapi.artifact;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yvolabs.hogwartsartifactsapi.artifact.dto.ArtifactBatchItemResult;
 import com.yvolabs.hogwartsartifactsapi.artifact.dto.ArtifactDto;
 import com.yvolabs.hogwartsartifactsapi.client.ai.chat.ChatClient;
 import com.yvolabs.hogwartsartifactsapi.client.ai.chat.dto.ChatRequest;
 import com.yvolabs.hogwartsartifactsapi.client.ai.chat.dto.ChatResponse;
 import com.yvolabs.hogwartsartifactsapi.client.ai.chat.dto.Message;
+import com.yvolabs.hogwartsartifactsapi.system.cache.CacheConfiguration;
+import com.yvolabs.hogwartsartifactsapi.system.exception.InvalidCursorException;
 import com.yvolabs.hogwartsartifactsapi.system.exception.ObjectNotFoundException;
 import com.yvolabs.hogwartsartifactsapi.utils.IdWorker;
 import io.micrometer.core.annotation.Timed;
 import io.micrometer.observation.annotation.Observed;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.mapping.PropertyPath;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * @author Yvonne N
@@ -34,15 +57,31 @@ public class ArtifactServiceImpl implements ArtifactService {
     private final ArtifactRepository artifactRepository;
     private final IdWorker idWorker;
     private final ChatClient chatClient;
+    private final ArtifactTrigramIndex artifactTrigramIndex;
+    private final ArtifactSearchResultCache artifactSearchResultCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${api.batch.chunk-size:500}")
+    private int batchChunkSize;
 
     @Override
-    @Observed(name = "artifact", contextualName = "findByIdService")
     public Artifact findById(String artifactId) {
 
-        return artifactRepository.findById(artifactId)
+        return findArtifact(artifactId)
                 .orElseThrow(() -> new ObjectNotFoundException("artifact", artifactId));
     }
 
+    // read-only projection straight into the dto, the cache of artifacts by id holds these dtos (never entities)
+    @Override
+    @Observed(name = "artifact", contextualName = "findByIdService")
+    @Cacheable(cacheNames = CacheConfiguration.ARTIFACTS, key = "#artifactId")
+    @Transactional(readOnly = true)
+    public ArtifactDto findDtoById(String artifactId) {
+        Optional<ArtifactDto> artifactDto = Artifact.isWellFormedId(artifactId) ? artifactRepository.findDtoById(artifactId) : Optional.empty();
+
+        return artifactDto.orElseThrow(() -> new ObjectNotFoundException("artifact", artifactId));
+    }
+
 
     // with pagination
     @Override
@@ -51,6 +90,46 @@ public class ArtifactServiceImpl implements ArtifactService {
         return artifactRepository.findAll(pageable);
     }
 
+    // with pagination, read-only projection straight into the dtos (no entities, no dirty checking)
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ArtifactDto> findAllDtos(Pageable pageable) {
+        // a @Query does not validate the sort against the entity, fail the same way findAll(pageable) does: PropertyReferenceException
+        pageable.getSort().forEach(order -> PropertyPath.from(order.getProperty(), Artifact.class));
+
+        return artifactRepository.findAllDtos(pageable);
+    }
+
+    // every artifact ordered by id, streamed from a database cursor so memory stays flat however big the table is
+    // resumable: pass the last id the client received as afterId
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(String afterId, Consumer<Artifact> consumer) {
+        if (StringUtils.hasText(afterId) && !Artifact.isWellFormedId(afterId)) {
+            throw new InvalidCursorException(afterId);
+        }
+        try (Stream<Artifact> artifacts = artifactRepository.streamAll(StringUtils.hasText(afterId) ? afterId : null)) {
+            artifacts.forEach(consumer);
+        }
+    }
+
+    // with keyset pagination, the id is appended to the sort as tie-breaker so every row has a unique position
+    @Override
+    public Window<Artifact> findAll(ScrollPosition scrollPosition, int limit, Sort sort) {
+
+        return artifactRepository.findBy(ArtifactSpecs.fetchOwner(), query -> query
+                .sortBy(sort)
+                .limit(limit)
+                .scroll(scrollPosition));
+    }
+
+    // with pagination but without the COUNT(*) query
+    @Override
+    public Slice<Artifact> findAllWithoutCount(Pageable pageable) {
+
+        return artifactRepository.findSlice(Specification.where(null), pageable);
+    }
+
     // without pagination
     @Override
     @Timed("findAllArtifactsService.time") // actuator metrics - measure the latency of this method
@@ -66,31 +145,79 @@ public class ArtifactServiceImpl implements ArtifactService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfiguration.ARTIFACT_SEARCHES, allEntries = true)
     public Artifact save(Artifact newArtifact) {
         long generatedId = idWorker.nextId();
         newArtifact.setId(String.valueOf(generatedId));
-        return artifactRepository.save(newArtifact);
+        Artifact savedArtifact = artifactRepository.save(newArtifact);
+        artifactTrigramIndex.indexAfterCommit(savedArtifact);
+        return savedArtifact;
 //        return null;
     }
 
+    // one id reservation for the whole batch, then one transaction per chunk (a failing chunk does not roll back the others)
+    // the inserts of a chunk are sent as JDBC batches (spring.jpa.properties.hibernate.jdbc.batch_size)
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @CacheEvict(cacheNames = CacheConfiguration.ARTIFACT_SEARCHES, allEntries = true)
+    public List<ArtifactBatchItemResult> saveAll(List<Artifact> newArtifacts) {
+        long[] generatedIds = idWorker.nextIds(newArtifacts.size());
+        for (int i = 0; i < newArtifacts.size(); i++) {
+            newArtifacts.get(i).setId(String.valueOf(generatedIds[i]));
+        }
+
+        List<ArtifactBatchItemResult> results = new ArrayList<>(newArtifacts.size());
+        for (int from = 0; from < newArtifacts.size(); from += batchChunkSize) {
+            List<Artifact> chunk = newArtifacts.subList(from, Math.min(from + batchChunkSize, newArtifacts.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    artifactRepository.persistAll(chunk);
+                    chunk.forEach(artifactTrigramIndex::indexAfterCommit);
+                });
+                for (int i = 0; i < chunk.size(); i++) {
+                    results.add(ArtifactBatchItemResult.created(from + i, chunk.get(i).getId()));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Batch chunk of {} artifacts starting at index {} failed", chunk.size(), from, e);
+                for (int i = 0; i < chunk.size(); i++) {
+                    results.add(ArtifactBatchItemResult.failed(from + i));
+                }
+            }
+        }
+        return results;
+    }
+
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.ARTIFACTS, key = "#artifactId"),
+            @CacheEvict(cacheNames = CacheConfiguration.ARTIFACT_SEARCHES, allEntries = true)
+    })
     public Artifact update(String artifactId, Artifact update) {
-        return artifactRepository.findById(artifactId)
+        return findArtifact(artifactId)
                 .map(oldArtifact -> {
                     oldArtifact.setName(update.getName());
                     oldArtifact.setDescription(update.getDescription());
                     oldArtifact.setImageUrl(update.getImageUrl());
-                    return artifactRepository.save(oldArtifact);
+                    Artifact updatedArtifact = artifactRepository.save(oldArtifact);
+                    artifactTrigramIndex.indexAfterCommit(updatedArtifact);
+                    return updatedArtifact;
 
                 })
                 .orElseThrow(() -> new ObjectNotFoundException("artifact", artifactId));
     }
 
+    // The owner's number of artifacts changes, which is also cached on the owner's other artifacts.
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.ARTIFACTS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfiguration.WIZARDS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfiguration.ARTIFACT_SEARCHES, allEntries = true)
+    })
     public void delete(String artifactId) {
-        artifactRepository.findById(artifactId)
+        findArtifact(artifactId)
                 .orElseThrow(() -> new ObjectNotFoundException("artifact", artifactId));
         artifactRepository.deleteById(artifactId);
+        artifactTrigramIndex.removeAfterCommit(artifactId);
 
     }
 
@@ -131,28 +258,121 @@ public class ArtifactServiceImpl implements ArtifactService {
 
     }
 
+    // a cached search only costs one select by primary key, no count and no criteria evaluation (see ArtifactSearchResultCache)
     @Override
     public Page<Artifact> findByCriteria(Map<String, String> searchCriteria, Pageable pageable) {
+
+        return artifactSearchResultCache.get(searchCriteria, pageable)
+                .<Page<Artifact>>map(cachedSearch -> new PageImpl<>(findAllInOrder(cachedSearch.ids()), pageable, cachedSearch.total()))
+                .orElseGet(() -> {
+                    long generation = artifactSearchResultCache.generation();
+                    Page<Artifact> artifactPage = artifactRepository.findAll(toSpecification(searchCriteria), pageable);
+                    artifactSearchResultCache.put(searchCriteria, pageable, artifactPage.map(Artifact::getId), generation);
+                    return artifactPage;
+                });
+    }
+
+    // same as findByCriteria, with read-only projections straight into the dtos (no entities, no dirty checking)
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ArtifactDto> findDtosByCriteria(Map<String, String> searchCriteria, Pageable pageable) {
+
+        return artifactSearchResultCache.get(searchCriteria, pageable)
+                .<Page<ArtifactDto>>map(cachedSearch -> new PageImpl<>(findDtosInOrder(cachedSearch.ids()), pageable, cachedSearch.total()))
+                .orElseGet(() -> {
+                    long generation = artifactSearchResultCache.generation();
+                    Page<ArtifactDto> artifactDtoPage = artifactRepository.findDtos(toSpecification(searchCriteria), pageable);
+                    artifactSearchResultCache.put(searchCriteria, pageable, artifactDtoPage.map(ArtifactDto::id), generation);
+                    return artifactDtoPage;
+                });
+    }
+
+    @Override
+    public Window<Artifact> findByCriteria(Map<String, String> searchCriteria, ScrollPosition scrollPosition, int limit, Sort sort) {
+
+        return artifactRepository.findBy(toSpecification(searchCriteria).and(ArtifactSpecs.fetchOwner()), query -> query
+                .sortBy(sort)
+                .limit(limit)
+                .scroll(scrollPosition));
+    }
+
+    @Override
+    public Slice<Artifact> findByCriteriaWithoutCount(Map<String, String> searchCriteria, Pageable pageable) {
+
+        return artifactRepository.findSlice(toSpecification(searchCriteria), pageable);
+    }
+
+    // approximate: cached for a short TTL (api.cache.artifact-counts) and not evicted on writes
+    @Override
+    @Cacheable(cacheNames = CacheConfiguration.ARTIFACT_COUNTS, keyGenerator = "artifactSearchKeyGenerator")
+    public long countByCriteria(Map<String, String> searchCriteria) {
+
+        return artifactRepository.count(toSpecification(searchCriteria));
+    }
+
+    private List<ArtifactDto> findDtosInOrder(List<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<String, ArtifactDto> artifactDtosById = artifactRepository.findDtosByIdIn(ids).stream()
+                .collect(Collectors.toMap(ArtifactDto::id, Function.identity()));
+
+        return ids.stream()
+                .map(artifactDtosById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<Artifact> findAllInOrder(List<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Artifact> artifactsById = artifactRepository.findAllByIdIn(ids).stream()
+                .collect(Collectors.toMap(Artifact::getId, Function.identity()));
+
+        return ids.stream()
+                .map(artifactsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // name and description are narrowed to candidate ids by the trigram index once it is built, the database still checks
+    // the LIKE on those rows only: the index of this instance may be stale (writes of the other instances, see ArtifactTrigramIndex)
+    // without the index, or for fragments matching more than api.search.max-index-candidates artifacts, only the LIKE specs
+    // package-private for ArtifactSpecsBenchmark
+    Specification<Artifact> toSpecification(Map<String, String> searchCriteria) {
         Specification<Artifact> spec = Specification.where(null);
+        boolean useIndex = artifactTrigramIndex.isReady();
 
         if (StringUtils.hasLength(searchCriteria.get("id"))) {
             spec = spec.and(ArtifactSpecs.hasId(searchCriteria.get("id")));
         }
 
         if (StringUtils.hasLength(searchCriteria.get("name"))) {
-            spec = spec.and(ArtifactSpecs.containsName(searchCriteria.get("name")));
+            String name = searchCriteria.get("name");
+            spec = spec.and((useIndex ? artifactTrigramIndex.findIdsByNameContaining(name) : Optional.<Set<String>>empty())
+                    .map(ids -> ArtifactSpecs.hasIdIn(ids).and(ArtifactSpecs.containsName(name)))
+                    .orElseGet(() -> ArtifactSpecs.containsName(name)));
         }
 
         if (StringUtils.hasLength(searchCriteria.get("description"))) {
-            spec = spec.and(ArtifactSpecs.containsDescription(searchCriteria.get("description")));
+            String description = searchCriteria.get("description");
+            spec = spec.and((useIndex ? artifactTrigramIndex.findIdsByDescriptionContaining(description) : Optional.<Set<String>>empty())
+                    .map(ids -> ArtifactSpecs.hasIdIn(ids).and(ArtifactSpecs.containsDescription(description)))
+                    .orElseGet(() -> ArtifactSpecs.containsDescription(description)));
         }
 
         if (StringUtils.hasLength(searchCriteria.get("ownerName"))) {
             spec = spec.and(ArtifactSpecs.hasOwnerName(searchCriteria.get("ownerName")));
         }
 
-        return artifactRepository.findAll(spec, pageable);
+        return spec;
     }
 
 
+
+    // a malformed id cannot be bound to the BIGINT key, it is no artifact's id
+    private Optional<Artifact> findArtifact(String artifactId) {
+        return Artifact.isWellFormedId(artifactId) ? artifactRepository.findById(artifactId) : Optional.empty();
+    }
 }
@@ -1,6 +1,13 @@
 package com.yvolabs.hogwartsartifactsapi.artifact;
 
+import jakarta.persistence.criteria.JoinType;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * @author Yvonne N
@@ -12,12 +19,22 @@ import org.springframework.data.jpa.domain.Specification;
  *            _ = represents one, single character
  */
 public class ArtifactSpecs {
+    public static final List<String> CRITERIA = List.of("id", "name", "description", "ownerName");
 
+    // a malformed id cannot be bound to the BIGINT key, it matches nothing
     public static Specification<Artifact> hasId(String providedId) {
-        return (root, query, criteriaBuilder) ->
+        return (root, query, criteriaBuilder) -> !Artifact.isWellFormedId(providedId) ?
+                criteriaBuilder.disjunction() :
                 criteriaBuilder.equal(root.get("id"), providedId);
     }
 
+    // ids resolved by ArtifactTrigramIndex, an empty collection matches nothing
+    public static Specification<Artifact> hasIdIn(Collection<String> providedIds) {
+        return (root, query, criteriaBuilder) -> providedIds.isEmpty() ?
+                criteriaBuilder.disjunction() :
+                root.get("id").in(providedIds);
+    }
+
     public static Specification<Artifact> containsName(String providedName) {
         return (root, query, criteriaBuilder) ->
                 criteriaBuilder.like(criteriaBuilder.lower(root.get("name")), "%" + providedName.toLowerCase() + "%");
@@ -33,5 +50,32 @@ public class ArtifactSpecs {
                 criteriaBuilder.equal(criteriaBuilder.lower(root.get("owner").get("name")), providedOwnerName.toLowerCase());
     }
 
+    /**
+     * Fetches the owner in the same select, for queries that can not use ArtifactRepository's @EntityGraph (e.g. keyset scrolling).
+     * Count queries are left alone, a fetch join is not allowed there.
+     */
+    public static Specification<Artifact> fetchOwner() {
+        return (root, query, criteriaBuilder) -> {
+            if (!Long.class.equals(query.getResultType()) && !long.class.equals(query.getResultType())) {
+                root.fetch("owner", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Normalized copy of the search criteria: only the supported, non-empty criteria, sorted by key,
+     * lower-cased except the id (the other criteria are matched case-insensitive anyway).
+     */
+    public static Map<String, String> normalize(Map<String, String> searchCriteria) {
+        Map<String, String> normalized = new TreeMap<>();
+        CRITERIA.forEach(criterion -> {
+            String value = searchCriteria.get(criterion);
+            if (StringUtils.hasLength(value)) {
+                normalized.put(criterion, criterion.equals("id") ? value : value.toLowerCase());
+            }
+        });
+        return normalized;
+    }
 
 }
@@ -0,0 +1,278 @@
+package com.yvolabs.hogwartsartifactsapi.artifact;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * @author Yvonne N
+ *
+ * @apiNote In-memory inverted trigram index over artifact name and description, used by the search instead of lower(col) LIKE '%x%' (a full table scan).
+ *          Every lower-cased 3 character window of a text points to the ids containing it, a substring query intersects the
+ *          id sets of its own trigrams and then checks the candidates' text, so the database only has to fetch the matching ids.
+ *          Queries shorter than 3 characters have no trigram and only check the text of every artifact.
+ *          A query matching more than api.search.max-index-candidates artifacts gives up (empty Optional): binding that many ids
+ *          costs more than the LIKE it replaces, the search then uses the LIKE specs.
+ *
+ *          The query has the LIKE semantics of ArtifactSpecs.containsName: % matches any run of characters, _ any single one
+ *          and \ escapes the next character, so the index and the LIKE fallback find the same artifacts.
+ *
+ * @apiNote Built when the application is ready, kept up to date by ArtifactServiceImpl once its transaction commits, and rebuilt
+ *          every api.search.index-rebuild-interval. Until the index is built isReady() is false and the search falls back to the LIKE specs.
+ *          A rebuild fills new maps and swaps them in, searches keep using the previous ones meanwhile; the writes committed during
+ *          the rebuild are applied to both.
+ *          Writes of the other instances are only seen by the next rebuild: the ids are candidates that the search still checks
+ *          with the LIKE specs, so a renamed or deleted artifact is never returned, but one created (or renamed to match) on another
+ *          instance is missing from this instance's search results for up to api.search.index-rebuild-interval.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ArtifactTrigramIndex {
+    private static final int N = 3;
+
+    private final ArtifactRepository artifactRepository;
+
+    @Value("${api.search.max-index-candidates:1000}")
+    private int maxCandidates;
+
+    private volatile Index index = new Index();
+
+    private volatile boolean ready;
+
+    // writes committed while a rebuild is streaming the table, replayed on the rebuilt index before it is swapped in (guarded by this)
+    private List<Consumer<Index>> writesDuringRebuild;
+
+    // the table is streamed without the writer lock, writes keep going to the current index meanwhile
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${api.search.index-rebuild-interval:300000}", fixedDelayString = "${api.search.index-rebuild-interval:300000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (this) {
+            if (writesDuringRebuild != null) {
+                return;
+            }
+            writesDuringRebuild = new ArrayList<>();
+        }
+
+        Index rebuilt = new Index();
+        try {
+            try (Stream<Artifact> artifacts = artifactRepository.streamAll(null)) {
+                artifacts.forEach(artifact -> rebuilt.index(artifact.getId(), IndexedText.of(artifact)));
+            }
+            synchronized (this) {
+                writesDuringRebuild.forEach(write -> write.accept(rebuilt));
+                index = rebuilt;
+                ready = true;
+            }
+        } finally {
+            synchronized (this) {
+                writesDuringRebuild = null;
+            }
+        }
+        log.info("Artifact trigram index built with {} artifacts, {} name and {} description trigrams", rebuilt.texts.size(), rebuilt.nameIndex.size(), rebuilt.descriptionIndex.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Ids of the artifacts whose name contains the given text, ignoring case,
+     * empty when more than api.search.max-index-candidates artifacts match.
+     */
+    public Optional<Set<String>> findIdsByNameContaining(String text) {
+        Index current = index;
+        return current.search(text.toLowerCase(), current.nameIndex, IndexedText::name, maxCandidates);
+    }
+
+    /**
+     * Ids of the artifacts whose description contains the given text, ignoring case,
+     * empty when more than api.search.max-index-candidates artifacts match.
+     */
+    public Optional<Set<String>> findIdsByDescriptionContaining(String text) {
+        Index current = index;
+        return current.search(text.toLowerCase(), current.descriptionIndex, IndexedText::description, maxCandidates);
+    }
+
+    /**
+     * (Re-)indexes the artifact once the current transaction commits, or right away without one.
+     */
+    public void indexAfterCommit(Artifact artifact) {
+        IndexedText text = IndexedText.of(artifact);
+        String artifactId = artifact.getId();
+        afterCommit(() -> apply(current -> current.index(artifactId, text)));
+    }
+
+    /**
+     * Removes the artifact once the current transaction commits, or right away without one.
+     */
+    public void removeAfterCommit(String artifactId) {
+        afterCommit(() -> apply(current -> current.remove(artifactId)));
+    }
+
+    // writers are serialized, readers never lock (a reader may miss an artifact while it is being re-indexed)
+    private synchronized void apply(Consumer<Index> write) {
+        write.accept(index);
+        if (writesDuringRebuild != null) {
+            writesDuringRebuild.add(write);
+        }
+    }
+
+    private static void removePosting(Map<String, Set<String>> index, String trigram, String artifactId) {
+        index.computeIfPresent(trigram, (key, ids) -> {
+            ids.remove(artifactId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static Set<String> trigrams(String text) {
+        if (text.length() < N) {
+            return Set.of();
+        }
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + N <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + N));
+        }
+        return trigrams;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class Index {
+        private final Map<String, IndexedText> texts = new ConcurrentHashMap<>();
+        private final Map<String, Set<String>> nameIndex = new ConcurrentHashMap<>();
+        private final Map<String, Set<String>> descriptionIndex = new ConcurrentHashMap<>();
+
+        void index(String artifactId, IndexedText text) {
+            remove(artifactId);
+            texts.put(artifactId, text);
+            trigrams(text.name()).forEach(trigram -> nameIndex.computeIfAbsent(trigram, key -> ConcurrentHashMap.newKeySet()).add(artifactId));
+            trigrams(text.description()).forEach(trigram -> descriptionIndex.computeIfAbsent(trigram, key -> ConcurrentHashMap.newKeySet()).add(artifactId));
+        }
+
+        void remove(String artifactId) {
+            IndexedText text = texts.remove(artifactId);
+            if (text == null) {
+                return;
+            }
+            trigrams(text.name()).forEach(trigram -> removePosting(nameIndex, trigram, artifactId));
+            trigrams(text.description()).forEach(trigram -> removePosting(descriptionIndex, trigram, artifactId));
+        }
+
+        Optional<Set<String>> search(String text, Map<String, Set<String>> index, Function<IndexedText, String> field, int maxCandidates) {
+            LikePattern pattern = LikePattern.of(text);
+            Set<String> trigrams = new HashSet<>();
+            pattern.literals().forEach(literal -> trigrams.addAll(trigrams(literal)));
+
+            Collection<String> candidates;
+            if (trigrams.isEmpty()) {
+                candidates = texts.keySet();
+            } else {
+                // intersect, starting from the rarest trigram
+                List<Set<String>> postings = new ArrayList<>(trigrams.size());
+                for (String trigram : trigrams) {
+                    Set<String> posting = index.get(trigram);
+                    if (posting == null) {
+                        return Optional.of(Set.of());
+                    }
+                    postings.add(posting);
+                }
+                postings.sort(Comparator.comparingInt(Set::size));
+
+                Set<String> intersection = new HashSet<>(postings.get(0));
+                for (int i = 1; i < postings.size() && !intersection.isEmpty(); i++) {
+                    intersection.retainAll(postings.get(i));
+                }
+                candidates = intersection;
+            }
+
+            // the trigrams may all be there but not next to each other, check the text itself
+            Set<String> ids = new HashSet<>();
+            for (String candidate : candidates) {
+                IndexedText indexedText = texts.get(candidate);
+                if (indexedText != null && pattern.matches(field.apply(indexedText))) {
+                    ids.add(candidate);
+                    if (ids.size() > maxCandidates) {
+                        return Optional.empty();
+                    }
+                }
+            }
+            return Optional.of(ids);
+        }
+    }
+
+    /**
+     * The query as the database reads '%' + query + '%': % any run of characters, _ any single one, \ escapes the next character.
+     * literals are the plain parts between the wildcards, every matching text contains each of them.
+     */
+    private record LikePattern(List<String> literals, Pattern regex) {
+
+        static LikePattern of(String text) {
+            List<String> literals = new ArrayList<>();
+            StringBuilder regex = new StringBuilder();
+            StringBuilder literal = new StringBuilder();
+            boolean wildcards = false;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '\\' && i + 1 < text.length()) {
+                    literal.append(text.charAt(++i));
+                } else if (c == '%' || c == '_') {
+                    wildcards = true;
+                    addLiteral(literal, literals, regex);
+                    regex.append(c == '%' ? ".*" : ".");
+                } else {
+                    literal.append(c);
+                }
+            }
+            addLiteral(literal, literals, regex);
+            return new LikePattern(literals, wildcards ? Pattern.compile(".*" + regex + ".*", Pattern.DOTALL) : null);
+        }
+
+        private static void addLiteral(StringBuilder literal, List<String> literals, StringBuilder regex) {
+            if (!literal.isEmpty()) {
+                literals.add(literal.toString());
+                regex.append(Pattern.quote(literal.toString()));
+                literal.setLength(0);
+            }
+        }
+
+        // without wildcards a plain contains, the common case
+        boolean matches(String text) {
+            return regex == null ? literals.isEmpty() || text.contains(literals.get(0)) : regex.matcher(text).matches();
+        }
+    }
+
+    private record IndexedText(String name, String description) {
+        static IndexedText of(Artifact artifact) {
+            return new IndexedText(
+                    artifact.getName() != null ? artifact.getName().toLowerCase() : "",
+                    artifact.getDescription() != null ? artifact.getDescription().toLowerCase() : "");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.yvolabs.hogwartsartifactsapi.artifact.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * @author Yvonne N
+ * Status of one item of POST /artifacts/batch, index is the item's position in the request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ArtifactBatchItemResult(int index,
+                                      String id,
+                                      Status status,
+                                      Map<String, String> errors) {
+
+    public enum Status {
+        CREATED, // inserted
+        INVALID, // not inserted, see errors
+        FAILED   // valid but its chunk was rolled back, see errors
+    }
+
+    public static ArtifactBatchItemResult created(int index, String id) {
+        return new ArtifactBatchItemResult(index, id, Status.CREATED, null);
+    }
+
+    public static ArtifactBatchItemResult invalid(int index, Map<String, String> errors) {
+        return new ArtifactBatchItemResult(index, null, Status.INVALID, errors);
+    }
+
+    // the cause is logged, not returned: it is the same for the whole chunk and may expose SQL or constraint names
+    public static ArtifactBatchItemResult failed(int index) {
+        return new ArtifactBatchItemResult(index, null, Status.FAILED, Map.of("batch", "not saved, its batch chunk failed."));
+    }
+
+    public ArtifactBatchItemResult withIndex(int index) {
+        return new ArtifactBatchItemResult(index, id, status, errors);
+    }
+}
@@ -16,4 +16,13 @@ public record ArtifactDto(String id,
                           @NotEmpty(message = "imageUrl is required.")
                           String imageUrl,
                           WizardDto owner) {
+
+    /**
+     * Flat constructor used by the projection queries (JPQL "select new"), see ArtifactRepository::findAllDtos
+     */
+    public ArtifactDto(String id, String name, String description, String imageUrl, Integer ownerId, String ownerName, Integer ownerNumberOfArtifacts) {
+        this(id, name, description, imageUrl, ownerId != null ?
+                new WizardDto(ownerId, ownerName, ownerNumberOfArtifacts) :
+                null);
+    }
 }
@@ -25,11 +25,8 @@ public class UserController {
 
     @GetMapping
     public ResponseEntity<Result> findAllUsers() {
-        List<HogwartsUser> users = userService.findAll();
-
-        List<UserDto> userDtos = users.stream()
-                .map(userToUserDtoConverter::convert)
-                .toList();
+        // projected by the query (no converter needed)
+        List<UserDto> userDtos = userService.findAllDtos();
 
         Result result = Result.builder()
                 .flag(true)
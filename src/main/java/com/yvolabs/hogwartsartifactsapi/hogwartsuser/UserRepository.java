@@ -1,7 +1,10 @@
 package com.yvolabs.hogwartsartifactsapi.hogwartsuser;
 
+import com.yvolabs.hogwartsartifactsapi.hogwartsuser.dto.UserDto;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -10,4 +13,8 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<HogwartsUser, Integer> {
 
     Optional<HogwartsUser> findByUsername(String username);
+
+    // projection, builds the DTO records in the select without loading HogwartsUser entities
+    @Query("select new com.yvolabs.hogwartsartifactsapi.hogwartsuser.dto.UserDto(u.id, u.username, u.enabled, u.roles) from HogwartsUser u")
+    List<UserDto> findAllDtos();
 }
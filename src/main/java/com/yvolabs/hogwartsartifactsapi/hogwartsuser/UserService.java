@@ -1,5 +1,7 @@
 package com.yvolabs.hogwartsartifactsapi.hogwartsuser;
 
+import com.yvolabs.hogwartsartifactsapi.hogwartsuser.dto.UserDto;
+
 import java.util.List;
 
 /**
@@ -8,6 +10,8 @@ import java.util.List;
 public interface UserService {
     List<HogwartsUser> findAll();
 
+    List<UserDto> findAllDtos();
+
     HogwartsUser save(HogwartsUser user);
 
     HogwartsUser findById(Integer userId);
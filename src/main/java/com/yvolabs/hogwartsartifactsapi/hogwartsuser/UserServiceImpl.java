@@ -1,5 +1,7 @@
 package com.yvolabs.hogwartsartifactsapi.hogwartsuser;
 
+import com.yvolabs.hogwartsartifactsapi.hogwartsuser.dto.UserDto;
+import com.yvolabs.hogwartsartifactsapi.security.VerifiedCredentialCache;
 import com.yvolabs.hogwartsartifactsapi.system.exception.ObjectNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -7,6 +9,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -18,16 +21,26 @@ import java.util.List;
 public class UserServiceImpl implements UserService, UserDetailsService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final VerifiedCredentialCache verifiedCredentialCache;
 
     @Override
     public List<HogwartsUser> findAll() {
         return userRepository.findAll();
     }
 
+    // read-only projection straight into the dtos (no entities, no dirty checking)
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserDto> findAllDtos() {
+        return userRepository.findAllDtos();
+    }
+
     @Override
     public HogwartsUser save(HogwartsUser user) {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        HogwartsUser savedUser = userRepository.save(user);
+        verifiedCredentialCache.invalidate(savedUser.getUsername());
+        return savedUser;
     }
 
     @Override
@@ -38,11 +51,14 @@ public class UserServiceImpl implements UserService, UserDetailsService {
 
     /**
      * We are not using this update to change user password.
+     * Logins remembered by the VerifiedCredentialCache under the old and the new username are forgotten.
      */
     @Override
     public HogwartsUser update(Integer userId, HogwartsUser update) {
         return userRepository.findById(userId)
                 .map(foundUser -> {
+                    verifiedCredentialCache.invalidate(foundUser.getUsername());
+                    verifiedCredentialCache.invalidate(update.getUsername());
                     foundUser.setUsername(update.getUsername());
                     foundUser.setEnabled(update.isEnabled());
                     foundUser.setRoles(update.getRoles());
@@ -53,9 +69,10 @@ public class UserServiceImpl implements UserService, UserDetailsService {
 
     @Override
     public void delete(Integer userId) {
-        userRepository.findById(userId)
+        HogwartsUser user = userRepository.findById(userId)
                 .orElseThrow(() -> new ObjectNotFoundException("user", userId));
         userRepository.deleteById(userId);
+        verifiedCredentialCache.invalidate(user.getUsername());
     }
 
     @Override
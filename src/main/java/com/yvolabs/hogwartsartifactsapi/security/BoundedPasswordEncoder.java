@@ -0,0 +1,95 @@
+package com.yvolabs.hogwartsartifactsapi.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Yvonne N
+ * Runs the delegate's encode() and matches() (BCrypt) on a pool of its own, so a login storm or a bulk user save keeps at most
+ * api.security.password-hashing.threads cores busy hashing and the Tomcat threads left serve the artifact reads.
+ * <p>
+ * The calling thread waits for its hash. Once queue-capacity hashes are waiting a PasswordHashingRejectedException fails the
+ * request right away (429), with a queue-capacity of 0 nothing waits: rejected as soon as every hashing thread is busy.
+ * The pool is published as executor.*{name=password.hashing}, rejections as password.hashing.rejected.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+    static final String METRIC_NAME = "password.hashing";
+
+    private final PasswordEncoder delegate;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException("api.security.password-hashing.queue-capacity must be 0 (no queue) or more, was " + queueCapacity);
+        }
+        this.delegate = delegate;
+        this.queueCapacity = queueCapacity;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        new ExecutorServiceMetrics(executor, METRIC_NAME, Tags.empty()).bindTo(meterRegistry);
+        this.rejected = Counter.builder(METRIC_NAME + ".rejected")
+                .description("Password hashes turned away because the password hashing pool and queue were full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // reads the cost out of the hash, nothing to offload
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> hashing) {
+        Future<T> hash;
+        try {
+            hash = executor.submit(hashing);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingRejectedException(queueCapacity);
+        }
+
+        try {
+            return hash.get();
+        } catch (InterruptedException e) {
+            hash.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Interrupted while waiting for the password hash", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.yvolabs.hogwartsartifactsapi.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * @author Yvonne N
+ * DaoAuthenticationProvider checking the VerifiedCredentialCache before the password encoder (BCrypt).
+ * The user is still loaded on every login, so a disabled account or changed roles apply right away.
+ */
+public class CachingDaoAuthenticationProvider extends DaoAuthenticationProvider {
+    private final VerifiedCredentialCache verifiedCredentialCache;
+
+    public CachingDaoAuthenticationProvider(UserDetailsService userDetailsService, PasswordEncoder passwordEncoder, VerifiedCredentialCache verifiedCredentialCache) {
+        super(passwordEncoder);
+        setUserDetailsService(userDetailsService);
+        this.verifiedCredentialCache = verifiedCredentialCache;
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails, UsernamePasswordAuthenticationToken authentication) throws AuthenticationException {
+        String presentedPassword = authentication.getCredentials() != null ? authentication.getCredentials().toString() : null;
+        if (presentedPassword != null && verifiedCredentialCache.isVerified(userDetails, presentedPassword)) {
+            return;
+        }
+
+        // throws BadCredentialsException on a wrong password
+        super.additionalAuthenticationChecks(userDetails, authentication);
+
+        if (presentedPassword != null) {
+            verifiedCredentialCache.verified(userDetails, presentedPassword);
+        }
+    }
+}
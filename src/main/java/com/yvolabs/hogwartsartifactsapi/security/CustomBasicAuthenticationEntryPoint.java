@@ -35,7 +35,10 @@ public class CustomBasicAuthenticationEntryPoint implements AuthenticationEntryP
 
     @Override
     public void commence(HttpServletRequest request, HttpServletResponse response, AuthenticationException authException) {
-        response.addHeader("WWW-Authenticate", "Basic realm=\"Realm\"");
+        // a 429 is not a challenge for other credentials
+        if (!(authException instanceof PasswordHashingRejectedException)) {
+            response.addHeader("WWW-Authenticate", "Basic realm=\"Realm\"");
+        }
         this.resolver.resolveException(request, response, null, authException);
     }
 }
@@ -0,0 +1,15 @@
+package com.yvolabs.hogwartsartifactsapi.security;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * @author Yvonne N
+ * The password hashing pool and its queue are full, the login or user save is turned away (429) instead of waiting.
+ */
+public class PasswordHashingRejectedException extends AuthenticationServiceException {
+
+    public PasswordHashingRejectedException(int queueCapacity) {
+        super("Too many password checks in progress (" + queueCapacity + " queued), try again later");
+    }
+
+}
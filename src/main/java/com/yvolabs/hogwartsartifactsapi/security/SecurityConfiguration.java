@@ -6,6 +6,7 @@ import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
@@ -15,6 +16,7 @@ import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
@@ -69,6 +71,7 @@ public class SecurityConfiguration {
                 .authorizeHttpRequests((authorizeRequests) -> {
                     authorizeRequests
                             //artifacts
+                            .requestMatchers(HttpMethod.GET, baseurl + "/artifacts/export").authenticated() // streams the whole table on one connection
                             .requestMatchers(HttpMethod.GET, baseurl + "/artifacts/**").permitAll()
                             .requestMatchers(HttpMethod.POST, baseurl + "/artifacts/search").permitAll()
                             //users
@@ -100,9 +103,19 @@ public class SecurityConfiguration {
         //.oauth2ResourceServer((oauth2) -> oauth2.jwt(Customizer.withDefaults()))
     }
 
+    // BCrypt on a bounded pool of its own, threads 0 = one per core
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public BoundedPasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                                  @Value("${api.security.password-hashing.threads:0}") int threads,
+                                                  @Value("${api.security.password-hashing.queue-capacity:50}") int queueCapacity) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(12),
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), queueCapacity, meterRegistry);
+    }
+
+    // the only AuthenticationProvider, so http basic logins go through it
+    @Bean
+    public CachingDaoAuthenticationProvider cachingDaoAuthenticationProvider(UserDetailsService userDetailsService, PasswordEncoder passwordEncoder, VerifiedCredentialCache verifiedCredentialCache) {
+        return new CachingDaoAuthenticationProvider(userDetailsService, passwordEncoder, verifiedCredentialCache);
     }
 
     @Bean
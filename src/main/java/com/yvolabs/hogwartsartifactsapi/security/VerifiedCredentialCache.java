@@ -0,0 +1,92 @@
+package com.yvolabs.hogwartsartifactsapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+/**
+ * @author Yvonne N
+ * Credentials BCrypt recently verified (api.security.credential-cache.*, off by default), so a repeated login skips the BCrypt work.
+ * <p>
+ * Only an HMAC-SHA256 of username, password and stored password hash is kept, under a key generated at startup that never leaves
+ * the process: the cache holds nothing a password could be recovered from, and a changed password hash stops matching on its own.
+ * UserServiceImpl invalidates a user's entry whenever the user is changed or deleted.
+ */
+@Component
+public class VerifiedCredentialCache {
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+    private final SecretKeySpec key;
+    private final Cache<String, byte[]> verified;
+
+    public VerifiedCredentialCache(MeterRegistry meterRegistry,
+                                   @Value("${api.security.credential-cache.enabled:false}") boolean enabled,
+                                   @Value("${api.security.credential-cache.ttl:5m}") Duration ttl,
+                                   @Value("${api.security.credential-cache.maximum-size:10000}") long maximumSize) {
+        this.enabled = enabled;
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+
+        this.verified = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "verified-credentials");
+    }
+
+    /**
+     * Whether these credentials were verified against the user's current password hash less than ttl ago.
+     */
+    public boolean isVerified(UserDetails user, String presentedPassword) {
+        if (!enabled) {
+            return false;
+        }
+        byte[] expected = verified.getIfPresent(user.getUsername());
+        return expected != null && MessageDigest.isEqual(expected, hmac(user, presentedPassword));
+    }
+
+    /**
+     * Remembers credentials the password encoder has just verified.
+     */
+    public void verified(UserDetails user, String presentedPassword) {
+        if (enabled) {
+            verified.put(user.getUsername(), hmac(user, presentedPassword));
+        }
+    }
+
+    public void invalidate(String username) {
+        verified.invalidate(username);
+    }
+
+    private byte[] hmac(UserDetails user, String presentedPassword) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            // length-prefixed, so no two different triples feed the same bytes
+            for (String part : new String[]{user.getUsername(), presentedPassword, user.getPassword()}) {
+                byte[] bytes = part.getBytes(StandardCharsets.UTF_8);
+                mac.update(new byte[]{(byte) (bytes.length >>> 24), (byte) (bytes.length >>> 16), (byte) (bytes.length >>> 8), (byte) bytes.length});
+                mac.update(bytes);
+            }
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.yvolabs.hogwartsartifactsapi.system;
+
+import java.util.List;
+
+/**
+ * @author Yvonne N
+ * Response payload of keyset (cursor) pagination, returned in the Result data.
+ * Pass nextCursor as the cursor query param to get the next page, nextCursor is null on the last page.
+ */
+public record CursorPage<T>(List<T> content,
+                            int size,
+                            boolean hasNext,
+                            String nextCursor) {
+}
@@ -0,0 +1,18 @@
+package com.yvolabs.hogwartsartifactsapi.system;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * @author Yvonne N
+ * Response payload of count-free (slice) pagination, returned in the Result data.
+ * Unlike a Page there is no exact total, only whether a next page exists and, when asked for, an approximate (cached) total.
+ */
+public record SlicePage<T>(List<T> content,
+                           int number,
+                           int size,
+                           boolean hasNext,
+                           @JsonInclude(JsonInclude.Include.NON_NULL)
+                           Long approximateTotal) {
+}
@@ -1,23 +1,25 @@
 package com.yvolabs.hogwartsartifactsapi.system.actuator;
 
 import org.springframework.boot.actuate.web.exchanges.HttpExchangeRepository;
-import org.springframework.boot.actuate.web.exchanges.InMemoryHttpExchangeRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * @author Yvonne N
  * To access /actuator/httpexchanges enpoint we need to configure a HttpExchangeRepository
+ * Scheduling runs the CachedHealthIndicator checks in the background
  */
 @Configuration
+@EnableScheduling
+@EnableConfigurationProperties(HttpExchangesProperties.class)
 public class ActuatorConfiguration {
 
+    // sampled, lock-free and slow-request biased instead of InMemoryHttpExchangeRepository, see api.http-exchanges
     @Bean
-    public HttpExchangeRepository httpExchangeRepository() {
-
-        InMemoryHttpExchangeRepository repository = new InMemoryHttpExchangeRepository();
-        repository.setCapacity(80); //default is 100
-        return repository;
+    public HttpExchangeRepository httpExchangeRepository(HttpExchangesProperties httpExchangesProperties) {
+        return new SampledHttpExchangeRepository(httpExchangesProperties);
     }
 
 }
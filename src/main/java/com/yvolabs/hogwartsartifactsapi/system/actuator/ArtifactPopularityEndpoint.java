@@ -0,0 +1,50 @@
+package com.yvolabs.hogwartsartifactsapi.system.actuator;
+
+import com.yvolabs.hogwartsartifactsapi.artifact.ArtifactPopularityTracker;
+import com.yvolabs.hogwartsartifactsapi.system.Result;
+import com.yvolabs.hogwartsartifactsapi.system.StatusCode;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * @author Yvonne N
+ * GET actuator/artifact-popularity: the most looked up artifacts (estimated counts), DELETE actuator/artifact-popularity: start over.
+ */
+@Component
+@Endpoint(id = "artifact-popularity")
+public class ArtifactPopularityEndpoint {
+    private final ArtifactPopularityTracker artifactPopularityTracker;
+
+    public ArtifactPopularityEndpoint(ArtifactPopularityTracker artifactPopularityTracker) {
+        this.artifactPopularityTracker = artifactPopularityTracker;
+    }
+
+    @ReadOperation
+    public Result topArtifacts() {
+
+        return Result.builder()
+                .flag(true)
+                .code(StatusCode.SUCCESS)
+                .message("Artifact Popularity Success")
+                .data(Map.of(
+                        "totalLookups", artifactPopularityTracker.totalLookups(),
+                        "errorBound", artifactPopularityTracker.errorBound(),
+                        "topArtifacts", artifactPopularityTracker.topArtifacts()))
+                .build();
+    }
+
+    @DeleteOperation
+    public Result reset() {
+        artifactPopularityTracker.reset();
+
+        return Result.builder()
+                .flag(true)
+                .code(StatusCode.SUCCESS)
+                .message("Artifact Popularity Reset Success")
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.yvolabs.hogwartsartifactsapi.system.actuator;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.time.Instant;
+
+/**
+ * @author Yvonne N
+ * HealthIndicator answering probes with the result of its last check, the checks run on CachedHealthIndicatorRefresher's schedule
+ * so a probe never does the work (or waits on it), however often the orchestrator calls.
+ * Subclasses return OUT_OF_SERVICE to take the instance out of the readiness group (503) while it is overloaded.
+ */
+public abstract class CachedHealthIndicator implements HealthIndicator {
+    private volatile Health health = Health.unknown().withDetail("reason", "Not checked yet").build();
+
+    @Override
+    public Health health() {
+        return health;
+    }
+
+    void refresh() {
+        Health.Builder builder;
+        try {
+            builder = check();
+        } catch (Exception e) {
+            builder = Health.down(e);
+        }
+        health = builder.withDetail("checkedAt", Instant.now()).build();
+    }
+
+    protected abstract Health.Builder check() throws Exception;
+
+    /**
+     * Status of a usage ratio against its limit.
+     */
+    protected static Health.Builder byRatio(double ratio, double maxRatio) {
+        return (ratio > maxRatio ? Health.outOfService() : Health.up())
+                .withDetail("ratio", Math.round(ratio * 1000) / 1000.0)
+                .withDetail("maxRatio", maxRatio);
+    }
+}
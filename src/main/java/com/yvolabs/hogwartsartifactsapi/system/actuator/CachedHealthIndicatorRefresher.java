@@ -0,0 +1,22 @@
+package com.yvolabs.hogwartsartifactsapi.system.actuator;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * @author Yvonne N
+ * Runs every CachedHealthIndicator check in the background, every api.health.refresh-interval milliseconds (first one at startup).
+ */
+@Component
+@RequiredArgsConstructor
+public class CachedHealthIndicatorRefresher {
+    private final List<CachedHealthIndicator> healthIndicators;
+
+    @Scheduled(fixedDelayString = "${api.health.refresh-interval:5000}")
+    public void refresh() {
+        healthIndicators.forEach(CachedHealthIndicator::refresh);
+    }
+}
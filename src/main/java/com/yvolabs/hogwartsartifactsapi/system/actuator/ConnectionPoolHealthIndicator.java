@@ -0,0 +1,45 @@
+package com.yvolabs.hogwartsartifactsapi.system.actuator;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * @author Yvonne N
+ * Hikari pool saturation: out of service once too many threads are waiting for a connection,
+ * taking more requests would only make them wait (and time out) too.
+ */
+@Component
+public class ConnectionPoolHealthIndicator extends CachedHealthIndicator {
+    private final DataSource dataSource;
+    private final int maxPending;
+
+    public ConnectionPoolHealthIndicator(DataSource dataSource, @Value("${api.health.connection-pool.max-pending:10}") int maxPending) {
+        this.dataSource = dataSource;
+        this.maxPending = maxPending;
+    }
+
+    @Override
+    protected Health.Builder check() throws Exception {
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            return Health.unknown().withDetail("reason", "Not a Hikari pool");
+        }
+        HikariDataSource hikariDataSource = dataSource.unwrap(HikariDataSource.class);
+        HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return Health.unknown().withDetail("reason", "Pool not started");
+        }
+
+        int pending = pool.getThreadsAwaitingConnection();
+        return (pending > maxPending ? Health.outOfService() : Health.up())
+                .withDetail("active", pool.getActiveConnections())
+                .withDetail("idle", pool.getIdleConnections())
+                .withDetail("max", hikariDataSource.getMaximumPoolSize())
+                .withDetail("pending", pending)
+                .withDetail("maxPending", maxPending);
+    }
+}
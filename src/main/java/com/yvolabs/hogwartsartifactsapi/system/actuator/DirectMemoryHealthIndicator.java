@@ -0,0 +1,39 @@
+package com.yvolabs.hogwartsartifactsapi.system.actuator;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * @author Yvonne N
+ * Direct (off-heap) buffer usage against -XX:MaxDirectMemorySize (the max heap when not set), NIO allocations fail past it.
+ */
+@Component
+public class DirectMemoryHealthIndicator extends CachedHealthIndicator {
+    private final double maxRatio;
+    private final long maxDirectMemory;
+
+    public DirectMemoryHealthIndicator(@Value("${api.health.direct-memory.max-ratio:0.85}") double maxRatio) {
+        this.maxRatio = maxRatio;
+        long configured = Long.parseLong(ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class)
+                .getVMOption("MaxDirectMemorySize")
+                .getValue());
+        this.maxDirectMemory = configured > 0 ? configured : Runtime.getRuntime().maxMemory();
+    }
+
+    @Override
+    protected Health.Builder check() {
+        long used = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+
+        return byRatio((double) used / maxDirectMemory, maxRatio)
+                .withDetail("used", used)
+                .withDetail("max", maxDirectMemory);
+    }
+}
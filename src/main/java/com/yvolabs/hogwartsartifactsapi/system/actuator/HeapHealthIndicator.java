@@ -0,0 +1,44 @@
+package com.yvolabs.hogwartsartifactsapi.system.actuator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.Optional;
+
+/**
+ * @author Yvonne N
+ * Old generation usage right after the last collection, the memory the live objects really need
+ * (the current usage only says when the next collection will be). Close to the max the JVM is heading for back to back full GCs.
+ */
+@Component
+public class HeapHealthIndicator extends CachedHealthIndicator {
+    private final double maxRatio;
+
+    public HeapHealthIndicator(@Value("${api.health.heap.max-old-gen-ratio:0.85}") double maxRatio) {
+        this.maxRatio = maxRatio;
+    }
+
+    @Override
+    protected Health.Builder check() {
+        Optional<MemoryPoolMXBean> oldGen = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported())
+                .filter(pool -> pool.getName().contains("Old") || pool.getName().contains("Tenured"))
+                .findFirst();
+        if (oldGen.isEmpty()) {
+            return Health.unknown().withDetail("reason", "No old generation pool for this garbage collector");
+        }
+
+        MemoryUsage afterGc = oldGen.get().getCollectionUsage();
+        long max = afterGc.getMax() > 0 ? afterGc.getMax() : Runtime.getRuntime().maxMemory();
+
+        return byRatio((double) afterGc.getUsed() / max, maxRatio)
+                .withDetail("pool", oldGen.get().getName())
+                .withDetail("usedAfterGc", afterGc.getUsed())
+                .withDetail("max", max);
+    }
+}
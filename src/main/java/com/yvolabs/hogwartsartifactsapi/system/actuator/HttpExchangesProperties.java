@@ -0,0 +1,37 @@
+package com.yvolabs.hogwartsartifactsapi.system.actuator;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * @author Yvonne N
+ * Recording of /actuator/httpexchanges (api.http-exchanges.*), see SampledHttpExchangeRepository.
+ *
+ * @param capacity      exchanges kept in memory, rounded up to a power of 2
+ * @param slowCapacity  slow exchanges kept in memory on top of them, rounded up to a power of 2
+ * @param sampleRate    share of the exchanges recorded, between 0 and 1
+ * @param slowThreshold exchanges taking at least this long are always recorded, and kept apart from the sampled ones
+ * @param spill         where the exchanges pushed out of memory go
+ */
+@ConfigurationProperties(prefix = "api.http-exchanges")
+public record HttpExchangesProperties(@DefaultValue("1024") int capacity,
+                                      @DefaultValue("128") int slowCapacity,
+                                      @DefaultValue("1.0") double sampleRate,
+                                      @DefaultValue("500ms") Duration slowThreshold,
+                                      @DefaultValue Spill spill) {
+
+    /**
+     * @param enabled       append the exchanges pushed out of memory to a file, one tab separated line each
+     * @param file          the file, renamed to file.1 (replacing the previous one) once it reaches maxFileSize
+     * @param maxFileSize   size of the file before it is rolled
+     * @param queueCapacity exchanges waiting to be written, the ones over it are dropped
+     */
+    public record Spill(@DefaultValue("false") boolean enabled,
+                        @DefaultValue("logs/httpexchanges.log") String file,
+                        @DefaultValue("10MB") DataSize maxFileSize,
+                        @DefaultValue("10000") int queueCapacity) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.yvolabs.hogwartsartifactsapi.system.actuator;
+
+import com.yvolabs.hogwartsartifactsapi.system.idworker.IdWorkerLeaseManager;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Yvonne N
+ * Out of service once the IdWorker lease is lost or expired: another instance may be generating the same ids,
+ * this one should not take writes any more.
+ */
+@Component
+public class IdWorkerLeaseHealthIndicator extends CachedHealthIndicator {
+    private final IdWorkerLeaseManager idWorkerLeaseManager;
+
+    public IdWorkerLeaseHealthIndicator(IdWorkerLeaseManager idWorkerLeaseManager) {
+        this.idWorkerLeaseManager = idWorkerLeaseManager;
+    }
+
+    @Override
+    protected Health.Builder check() {
+        int workerKey = idWorkerLeaseManager.workerKey();
+        Health.Builder builder = (idWorkerLeaseManager.isValid() ? Health.up() : Health.outOfService())
+                .withDetail("leased", idWorkerLeaseManager.isLeased())
+                .withDetail("datacenterId", workerKey / 32)
+                .withDetail("workerId", workerKey % 32);
+        return idWorkerLeaseManager.isLeased() ? builder.withDetail("expiresAt", idWorkerLeaseManager.expiresAt()) : builder;
+    }
+}
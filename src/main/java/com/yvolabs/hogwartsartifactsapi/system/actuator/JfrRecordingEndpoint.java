@@ -0,0 +1,136 @@
+package com.yvolabs.hogwartsartifactsapi.system.actuator;
+
+import com.yvolabs.hogwartsartifactsapi.system.Result;
+import com.yvolabs.hogwartsartifactsapi.system.StatusCode;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author Yvonne N
+ * POST actuator/jfr {"settings": "profile", "duration": "5m"}: start a Java Flight Recorder recording (replacing the previous one),
+ * GET actuator/jfr: dump it (a .jfr file, open it with JDK Mission Control or jfr print), DELETE actuator/jfr: stop and discard it.
+ * The recording includes the app's own events (com.yvolabs.hogwarts.*), see system.jfr.
+ * A dump is streamed from a temp file, which is kept until the next dump or stop (never more than one on disk).
+ */
+@Component
+@Endpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    private final DataSize maxSize;
+    private final Duration maxAge;
+
+    private Recording recording;
+    private Path lastDump;
+
+    public JfrRecordingEndpoint(@Value("${api.jfr.max-size:100MB}") DataSize maxSize,
+                                @Value("${api.jfr.max-age:30m}") Duration maxAge) {
+        this.maxSize = maxSize;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * @param settings "default" (about 1% overhead) or "profile" (more detail, about 2%), defaults to "default"
+     * @param duration stops by itself after it, runs until stopped when null (keeping the last maxAge / maxSize)
+     */
+    @WriteOperation
+    public synchronized Result start(@Nullable String settings, @Nullable Duration duration) throws IOException, ParseException {
+        String settingsName = settings != null ? settings : "default";
+        if (!SETTINGS.contains(settingsName)) {
+            return Result.builder()
+                    .flag(false)
+                    .code(StatusCode.INVALID_ARGUMENT)
+                    .message("Settings must be one of " + SETTINGS)
+                    .build();
+        }
+
+        close();
+        recording = new Recording(Configuration.getConfiguration(settingsName));
+        recording.setName("hogwarts-artifacts-api");
+        recording.setToDisk(true);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.setMaxAge(maxAge);
+        if (duration != null) {
+            recording.setDuration(duration);
+        }
+        recording.start();
+
+        return Result.builder()
+                .flag(true)
+                .code(StatusCode.SUCCESS)
+                .message("JFR Recording Start Success")
+                .data(describe(recording, settingsName))
+                .build();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump() throws IOException {
+        if (recording == null || recording.getState() == RecordingState.CLOSED) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+
+        deleteLastDump();
+        lastDump = Files.createTempFile("hogwarts-artifacts-api-", ".jfr");
+        recording.dump(lastDump);
+        return new WebEndpointResponse<>(new FileSystemResource(lastDump), WebEndpointResponse.STATUS_OK);
+    }
+
+    @DeleteOperation
+    public synchronized Result stop() throws IOException {
+        close();
+        deleteLastDump();
+
+        return Result.builder()
+                .flag(true)
+                .code(StatusCode.SUCCESS)
+                .message("JFR Recording Stop Success")
+                .build();
+    }
+
+    private void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    // a download still reading it keeps its open file, deleting only unlinks the name
+    private void deleteLastDump() throws IOException {
+        if (lastDump != null) {
+            Files.deleteIfExists(lastDump);
+            lastDump = null;
+        }
+    }
+
+    private static Map<String, Object> describe(Recording recording, String settings) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("id", recording.getId());
+        description.put("name", recording.getName());
+        description.put("settings", settings);
+        description.put("state", recording.getState());
+        description.put("startTime", recording.getStartTime());
+        description.put("duration", recording.getDuration());
+        return description;
+    }
+}
@@ -0,0 +1,47 @@
+package com.yvolabs.hogwartsartifactsapi.system.actuator;
+
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+
+/**
+ * @author Yvonne N
+ * Tomcat request queue depth: requests accepted but waiting for a worker thread, out of service once it is too deep.
+ */
+@Component
+public class RequestQueueHealthIndicator extends CachedHealthIndicator {
+    private final ApplicationContext applicationContext;
+    private final int maxDepth;
+
+    public RequestQueueHealthIndicator(ApplicationContext applicationContext, @Value("${api.health.request-queue.max-depth:100}") int maxDepth) {
+        this.applicationContext = applicationContext;
+        this.maxDepth = maxDepth;
+    }
+
+    @Override
+    protected Health.Builder check() {
+        // no web server in MockMvc tests
+        if (!(applicationContext instanceof ServletWebServerApplicationContext webServerApplicationContext)
+                || !(webServerApplicationContext.getWebServer() instanceof TomcatWebServer tomcatWebServer)) {
+            return Health.unknown().withDetail("reason", "Not running on Tomcat");
+        }
+
+        Executor executor = tomcatWebServer.getTomcat().getConnector().getProtocolHandler().getExecutor();
+        if (!(executor instanceof ThreadPoolExecutor threadPoolExecutor)) {
+            return Health.unknown().withDetail("reason", "Executor queue not available");
+        }
+
+        int depth = threadPoolExecutor.getQueue().size();
+        return (depth > maxDepth ? Health.outOfService() : Health.up())
+                .withDetail("depth", depth)
+                .withDetail("maxDepth", maxDepth)
+                .withDetail("busyThreads", threadPoolExecutor.getActiveCount())
+                .withDetail("maxThreads", threadPoolExecutor.getMaximumPoolSize());
+    }
+}
@@ -0,0 +1,203 @@
+package com.yvolabs.hogwartsartifactsapi.system.actuator;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.web.exchanges.HttpExchange;
+import org.springframework.boot.actuate.web.exchanges.HttpExchangeRepository;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Yvonne N
+ * HttpExchangeRepository recording into lock-free ring buffers, unlike InMemoryHttpExchangeRepository which locks on every request.
+ * <p>
+ * - only sampleRate of the exchanges are recorded, but the ones taking at least slowThreshold always are
+ * - slow exchanges get their own ring, so a burst of fast requests cannot push them out
+ * - when spill is enabled, the exchanges pushed out of the rings are queued (lock-free, dropped when the queue is full)
+ * and appended to a file by a background thread, one tab separated line each:
+ * timestamp, method, uri, status, time taken (ms), principal, remote address
+ */
+@Slf4j
+public class SampledHttpExchangeRepository implements HttpExchangeRepository, AutoCloseable {
+    private static final Comparator<HttpExchange> NEWEST_FIRST = Comparator.comparing(HttpExchange::getTimestamp).reversed();
+
+    private final double sampleRate;
+    private final Duration slowThreshold;
+    private final Ring exchanges;
+    private final Ring slowExchanges;
+
+    private final HttpExchangesProperties.Spill spill;
+    private final Queue<HttpExchange> spillQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger spillQueueSize = new AtomicInteger();
+    private final LongAdder spillDropped = new LongAdder();
+    private final ScheduledExecutorService spillWriter;
+
+    public SampledHttpExchangeRepository(HttpExchangesProperties properties) {
+        if (properties.sampleRate() < 0 || properties.sampleRate() > 1) {
+            throw new IllegalArgumentException("sampleRate must be between 0 and 1");
+        }
+        this.sampleRate = properties.sampleRate();
+        this.slowThreshold = properties.slowThreshold();
+        this.exchanges = new Ring(properties.capacity());
+        this.slowExchanges = new Ring(properties.slowCapacity());
+        this.spill = properties.spill();
+
+        if (spill.enabled()) {
+            this.spillWriter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "http-exchanges-spill");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.spillWriter.scheduleWithFixedDelay(this::writeSpilled, 1, 1, TimeUnit.SECONDS);
+        } else {
+            this.spillWriter = null;
+        }
+    }
+
+    @Override
+    public void add(HttpExchange httpExchange) {
+        HttpExchange pushedOut;
+        if (isSlow(httpExchange)) {
+            pushedOut = slowExchanges.add(httpExchange);
+        } else if (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            pushedOut = exchanges.add(httpExchange);
+        } else {
+            return;
+        }
+
+        if (pushedOut != null && spillWriter != null) {
+            queueForSpill(pushedOut);
+        }
+    }
+
+    /**
+     * The exchanges in memory, newest first.
+     */
+    @Override
+    public List<HttpExchange> findAll() {
+        List<HttpExchange> all = new ArrayList<>(exchanges.capacity() + slowExchanges.capacity());
+        exchanges.collect(all);
+        slowExchanges.collect(all);
+        all.sort(NEWEST_FIRST);
+        return Collections.unmodifiableList(all);
+    }
+
+    @Override
+    public void close() {
+        if (spillWriter != null) {
+            spillWriter.shutdown();
+            writeSpilled();
+        }
+    }
+
+    // runs on the spill writer thread only (and once more on close)
+    synchronized void writeSpilled() {
+        long dropped = spillDropped.sumThenReset();
+        if (dropped > 0) {
+            log.warn("{} http exchanges were not spilled, the spill queue was full", dropped);
+        }
+        if (spillQueue.isEmpty()) {
+            return;
+        }
+
+        Path file = Path.of(spill.file());
+        try {
+            rollIfFull(file);
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                HttpExchange exchange;
+                while ((exchange = spillQueue.poll()) != null) {
+                    spillQueueSize.decrementAndGet();
+                    writer.write(toLine(exchange));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not spill http exchanges to {}", file, e);
+        }
+    }
+
+    private boolean isSlow(HttpExchange httpExchange) {
+        return httpExchange.getTimeTaken() != null && httpExchange.getTimeTaken().compareTo(slowThreshold) >= 0;
+    }
+
+    private void queueForSpill(HttpExchange httpExchange) {
+        if (spillQueueSize.incrementAndGet() > spill.queueCapacity()) {
+            spillQueueSize.decrementAndGet();
+            spillDropped.increment();
+            return;
+        }
+        spillQueue.offer(httpExchange);
+    }
+
+    private void rollIfFull(Path file) throws IOException {
+        if (Files.exists(file) && Files.size(file) >= spill.maxFileSize().toBytes()) {
+            Files.move(file, file.resolveSibling(file.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String toLine(HttpExchange exchange) {
+        return String.join("\t",
+                exchange.getTimestamp().toString(),
+                exchange.getRequest().getMethod(),
+                exchange.getRequest().getUri().toString(),
+                exchange.getResponse() != null ? String.valueOf(exchange.getResponse().getStatus()) : "-",
+                exchange.getTimeTaken() != null ? String.valueOf(exchange.getTimeTaken().toMillis()) : "-",
+                exchange.getPrincipal() != null ? exchange.getPrincipal().getName() : "-",
+                exchange.getRequest().getRemoteAddress() != null ? exchange.getRequest().getRemoteAddress() : "-") + "\n";
+    }
+
+    /**
+     * Fixed size ring, a writer claims the next slot with a single atomic increment and overwrites the oldest exchange.
+     */
+    private static final class Ring {
+        private final AtomicReferenceArray<HttpExchange> slots;
+        private final AtomicLong next = new AtomicLong();
+        private final int mask;
+
+        Ring(int capacity) {
+            if (capacity < 1) {
+                throw new IllegalArgumentException("capacity must be positive");
+            }
+            int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+            this.slots = new AtomicReferenceArray<>(size);
+            this.mask = size - 1;
+        }
+
+        // returns the exchange pushed out, if any
+        HttpExchange add(HttpExchange exchange) {
+            return slots.getAndSet((int) (next.getAndIncrement() & mask), exchange);
+        }
+
+        void collect(List<HttpExchange> target) {
+            for (int i = 0; i < slots.length(); i++) {
+                HttpExchange exchange = slots.get(i);
+                if (exchange != null) {
+                    target.add(exchange);
+                }
+            }
+        }
+
+        int capacity() {
+            return slots.length();
+        }
+    }
+}
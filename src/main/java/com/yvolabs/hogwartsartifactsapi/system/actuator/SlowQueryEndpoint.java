@@ -0,0 +1,46 @@
+package com.yvolabs.hogwartsartifactsapi.system.actuator;
+
+import com.yvolabs.hogwartsartifactsapi.system.Result;
+import com.yvolabs.hogwartsartifactsapi.system.StatusCode;
+import com.yvolabs.hogwartsartifactsapi.system.sql.SlowQueryLog;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Yvonne N
+ * GET actuator/slow-queries: the most recent statements over api.slow-query.threshold with their bind parameters,
+ * row count, elapsed time and EXPLAIN output, DELETE actuator/slow-queries: start over.
+ */
+@Component
+@Endpoint(id = "slow-queries")
+public class SlowQueryEndpoint {
+    private final SlowQueryLog slowQueryLog;
+
+    public SlowQueryEndpoint(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @ReadOperation
+    public Result slowQueries() {
+
+        return Result.builder()
+                .flag(true)
+                .code(StatusCode.SUCCESS)
+                .message("Slow Queries Success")
+                .data(slowQueryLog.slowQueries())
+                .build();
+    }
+
+    @DeleteOperation
+    public Result clear() {
+        slowQueryLog.clear();
+
+        return Result.builder()
+                .flag(true)
+                .code(StatusCode.SUCCESS)
+                .message("Slow Queries Clear Success")
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.yvolabs.hogwartsartifactsapi.system.actuator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.File;
+
+/**
+ * @author Yvonne N
+ * Spring boot will detect this bean and add this result to the actuator health endpoint (as usableDiskSpace)
+ */
+@Component
+public class UsableDiskSpaceHealthIndicator extends CachedHealthIndicator {
+    private final DataSize threshold;
+
+    public UsableDiskSpaceHealthIndicator(@Value("${api.health.disk-space.threshold:10MB}") DataSize threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected Health.Builder check() {
+        File path = new File("."); // Path used to compute available disk space  - (".") = root
+        long diskUsableInBytes = path.getUsableSpace();
+
+        boolean isHealthy = diskUsableInBytes >= threshold.toBytes();
+
+        // Up means there is enough usable disk space
+        return (isHealthy ? Health.up() : Health.down())
+                .withDetail("usable disk space", diskUsableInBytes)
+                .withDetail("threshold", threshold.toBytes());
+        // In addition to reporting the status, we can attach additional key-value details using the withDetail(key, value)
+    }
+}
@@ -0,0 +1,53 @@
+package com.yvolabs.hogwartsartifactsapi.system.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @author Yvonne N
+ * In-process (Caffeine) caches in front of the hot findById lookups and the artifact search, see ArtifactServiceImpl & WizardServiceImpl.
+ * Every cache gets its own size/TTL spec from application.yml (api.cache.*), "recordStats" must stay in the spec,
+ * otherwise actuator can not publish the hit/miss/eviction metrics (cache.gets, cache.evictions, cache.size).
+ * <p>
+ * The caches are registered up front (not created on first use) so that actuator binds their metrics at startup.
+ * <p>
+ * Every cache is transaction-aware: puts, evictions and clears inside a transaction are applied once it commits,
+ * after the synchronizations registered before them (the ArtifactTrigramIndex updates of the same write).
+ * Evicted before the commit, a concurrent read could put the old state back for the whole TTL.
+ * <p>
+ * The artifact searches are also generational (GenerationalCache): a search that read before a write committed has its
+ * put applied after that write's clear, the stale ids are dropped instead of living for the whole TTL.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+    public static final String ARTIFACTS = "artifacts";
+    public static final String WIZARDS = "wizards";
+    public static final String ARTIFACT_COUNTS = "artifactCounts";
+    public static final String ARTIFACT_SEARCHES = "artifactSearches";
+
+    @Bean
+    public CaffeineCacheManager cacheManager(@Value("${api.cache.artifacts.spec}") String artifactsSpec,
+                                             @Value("${api.cache.wizards.spec}") String wizardsSpec,
+                                             @Value("${api.cache.artifact-counts.spec}") String artifactCountsSpec,
+                                             @Value("${api.cache.artifact-searches.spec}") String artifactSearchesSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                Cache adapted = super.adaptCaffeineCache(name, cache);
+                return new TransactionAwareCacheDecorator(ARTIFACT_SEARCHES.equals(name) ? new GenerationalCache(adapted) : adapted);
+            }
+        };
+        cacheManager.registerCustomCache(ARTIFACTS, Caffeine.from(artifactsSpec).build());
+        cacheManager.registerCustomCache(WIZARDS, Caffeine.from(wizardsSpec).build());
+        cacheManager.registerCustomCache(ARTIFACT_COUNTS, Caffeine.from(artifactCountsSpec).build());
+        cacheManager.registerCustomCache(ARTIFACT_SEARCHES, Caffeine.from(artifactSearchesSpec).build());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,99 @@
+package com.yvolabs.hogwartsartifactsapi.system.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Yvonne N
+ * Cache decorator counting its evictions and clears (the generation), see CacheConfiguration.
+ * A reader stamps the value it computed with the generation read before it queried (Stamped), the value is only put while
+ * that is still the generation: a read that started before a write's eviction can not put the old state back,
+ * even when its put is only applied once its own transaction commits, after the eviction (TransactionAwareCacheDecorator).
+ * Values that are not Stamped are put as they are.
+ */
+public class GenerationalCache implements Cache {
+    private final Cache target;
+    private final AtomicLong generation = new AtomicLong();
+
+    public GenerationalCache(Cache target) {
+        this.target = target;
+    }
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return target.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return target.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return target.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (!(value instanceof Stamped stamped)) {
+            target.put(key, value);
+            return;
+        }
+        if (stamped.generation() != generation.get()) {
+            return;
+        }
+        target.put(key, value);
+        // an eviction or clear ran between the check and the put
+        if (stamped.generation() != generation.get()) {
+            target.evict(key);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        generation.incrementAndGet();
+        target.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        generation.incrementAndGet();
+        return target.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        generation.incrementAndGet();
+        target.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        generation.incrementAndGet();
+        return target.invalidate();
+    }
+
+    /**
+     * A cache value carrying the generation (GenerationalCache::getGeneration) it was computed in.
+     */
+    public interface Stamped {
+        long generation();
+    }
+}
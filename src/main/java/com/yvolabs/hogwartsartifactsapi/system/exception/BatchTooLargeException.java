@@ -0,0 +1,12 @@
+package com.yvolabs.hogwartsartifactsapi.system.exception;
+
+/**
+ * @author Yvonne N
+ */
+public class BatchTooLargeException extends RuntimeException {
+
+    public BatchTooLargeException(int size, int maxSize) {
+        super("The batch has " + size + " items, at most " + maxSize + " are allowed");
+    }
+
+}
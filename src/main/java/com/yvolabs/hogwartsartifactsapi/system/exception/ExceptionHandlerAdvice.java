@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.jose.shaded.gson.JsonObject;
 import com.nimbusds.jose.shaded.gson.JsonParser;
+import com.yvolabs.hogwartsartifactsapi.security.PasswordHashingRejectedException;
 import com.yvolabs.hogwartsartifactsapi.system.Result;
 import com.yvolabs.hogwartsartifactsapi.system.StatusCode;
 import lombok.extern.slf4j.Slf4j;
@@ -93,6 +94,27 @@ public class ExceptionHandlerAdvice {
                 .build();
     }
 
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    Result handlePasswordHashingRejectedException(PasswordHashingRejectedException ex) {
+        return Result.builder()
+                .flag(false)
+                .code(StatusCode.TOO_MANY_REQUESTS)
+                .message("Too many password checks in progress, try again later")
+                .data(ex.getMessage())
+                .build();
+    }
+
+    @ExceptionHandler(TooManyExportsException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    Result handleTooManyExportsException(TooManyExportsException ex) {
+        return Result.builder()
+                .flag(false)
+                .code(StatusCode.TOO_MANY_REQUESTS)
+                .message(ex.getMessage())
+                .build();
+    }
+
     @ExceptionHandler(InvalidBearerTokenException.class)
     @ResponseStatus(HttpStatus.UNAUTHORIZED)
     Result handleInvalidBearerTokenException(InvalidBearerTokenException ex) {
@@ -156,6 +178,17 @@ public class ExceptionHandlerAdvice {
                 .build();
     }
 
+    // keyset pagination, count mode and batch errors
+    @ExceptionHandler({InvalidCursorException.class, InvalidCountModeException.class, BatchTooLargeException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    Result handleInvalidArgumentException(RuntimeException ex) {
+        return Result.builder()
+                .flag(false)
+                .code(StatusCode.INVALID_ARGUMENT)
+                .message(ex.getMessage())
+                .build();
+    }
+
     // endpoint errors
     @ExceptionHandler({NoHandlerFoundException.class, NoResourceFoundException.class})
     @ResponseStatus(HttpStatus.NOT_FOUND)
@@ -0,0 +1,14 @@
+package com.yvolabs.hogwartsartifactsapi.system.exception;
+
+import java.util.Collection;
+
+/**
+ * @author Yvonne N
+ */
+public class InvalidCountModeException extends RuntimeException {
+
+    public InvalidCountModeException(String count, Collection<String> countModes) {
+        super("The count " + count + " is invalid, it must be one of " + countModes);
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.yvolabs.hogwartsartifactsapi.system.exception;
+
+/**
+ * @author Yvonne N
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor) {
+        super("The cursor " + cursor + " is invalid or expired");
+    }
+
+    public InvalidCursorException(String cursor, Throwable cause) {
+        super("The cursor " + cursor + " is invalid or expired", cause);
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.yvolabs.hogwartsartifactsapi.system.exception;
+
+/**
+ * @author Yvonne N
+ * Every export slot (api.export.max-concurrent) is streaming, the export is turned away (429) instead of taking another connection.
+ */
+public class TooManyExportsException extends RuntimeException {
+
+    public TooManyExportsException(int maxConcurrent) {
+        super("Too many exports in progress (" + maxConcurrent + " at most), try again later");
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.yvolabs.hogwartsartifactsapi.system.idworker;
+
+import com.yvolabs.hogwartsartifactsapi.utils.IdWorker;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @author Yvonne N
+ * The application's IdWorker, on the datacenter and worker ids leased by IdWorkerLeaseManager.
+ */
+@Configuration
+@EnableConfigurationProperties(IdWorkerProperties.class)
+public class IdWorkerConfiguration {
+
+    @Bean
+    public IdWorkerLeaseManager idWorkerLeaseManager(IdWorkerLeaseRepository idWorkerLeaseRepository, IdWorkerProperties idWorkerProperties) {
+        return new IdWorkerLeaseManager(idWorkerLeaseRepository, idWorkerProperties);
+    }
+
+    @Bean
+    public IdWorker idWorker(IdWorkerLeaseManager idWorkerLeaseManager, IdWorkerProperties idWorkerProperties) {
+        int workerKey = idWorkerLeaseManager.acquire();
+        IdWorker idWorker = new IdWorker(workerKey % 32, workerKey / 32, idWorkerProperties.clockMode());
+        idWorkerLeaseManager.guard(idWorker);
+        return idWorker;
+    }
+
+    @Bean
+    public MeterBinder idWorkerMetrics(IdWorker idWorker) {
+        return registry -> {
+            FunctionCounter.builder("id.worker.clock.regressions", idWorker, IdWorker::clockRegressions)
+                    .description("Times the wall clock was seen moving backwards")
+                    .tag("mode", idWorker.clockMode().name().toLowerCase())
+                    .register(registry);
+            FunctionCounter.builder("id.worker.sequence.exhaustions", idWorker, IdWorker::sequenceExhaustions)
+                    .description("Times the ids of a millisecond were used up and a caller waited for the next one")
+                    .tag("mode", idWorker.clockMode().name().toLowerCase())
+                    .register(registry);
+        };
+    }
+}
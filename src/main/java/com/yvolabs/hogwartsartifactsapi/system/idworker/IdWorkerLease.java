@@ -0,0 +1,26 @@
+package com.yvolabs.hogwartsartifactsapi.system.idworker;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * @author Yvonne N
+ * An IdWorker (datacenter id * 32 + worker id) held by one running instance until expiresAt, see IdWorkerLeaseManager.
+ */
+@Entity
+@Table(name = "id_worker_lease")
+@Data
+@NoArgsConstructor
+public class IdWorkerLease {
+    @Id
+    private Integer workerKey;
+
+    private String holder;
+
+    private Instant expiresAt;
+}
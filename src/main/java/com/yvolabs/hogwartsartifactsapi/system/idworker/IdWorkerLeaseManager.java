@@ -0,0 +1,162 @@
+package com.yvolabs.hogwartsartifactsapi.system.idworker;
+
+import com.yvolabs.hogwartsartifactsapi.utils.IdWorker;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yvonne N
+ * Leases this instance's IdWorker ids (datacenter id * 32 + worker id, 1024 keys) as a row of id_worker_lease:
+ * acquired at startup (the configured ids first, then the next free or expired key), renewed every api.id-worker.lease.renew-interval
+ * on a thread of its own (a slow @Scheduled task cannot hold it up) and released on shutdown. The write path never touches the table.
+ * <p>
+ * A lease that could not be renewed in time may be taken over by another instance, which then generates the same ids:
+ * the guarded IdWorker refuses to generate ids past the lease's expiry, or at once when it was taken over,
+ * and IdWorkerLeaseHealthIndicator takes the instance out of the readiness group.
+ */
+@Slf4j
+public class IdWorkerLeaseManager {
+    static final int WORKER_KEYS = 1024;
+
+    private final IdWorkerLeaseRepository idWorkerLeaseRepository;
+    private final IdWorkerProperties properties;
+    private final String holder = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    private volatile int workerKey = -1;
+    private volatile Instant expiresAt = Instant.MAX;
+    private volatile boolean lost;
+    private volatile IdWorker idWorker;
+    private ScheduledExecutorService renewal;
+
+    public IdWorkerLeaseManager(IdWorkerLeaseRepository idWorkerLeaseRepository, IdWorkerProperties properties) {
+        this.idWorkerLeaseRepository = idWorkerLeaseRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * The datacenter id * 32 + worker id this instance may use, leased unless api.id-worker.lease.enabled is false.
+     */
+    public int acquire() {
+        int preferred = properties.datacenterId() * 32 + properties.workerId();
+        if (!properties.lease().enabled()) {
+            workerKey = preferred;
+            return workerKey;
+        }
+
+        for (int i = 0; i < WORKER_KEYS; i++) {
+            int key = (preferred + i) % WORKER_KEYS;
+            Instant now = Instant.now();
+            Instant leaseExpiresAt = now.plus(properties.lease().duration());
+            if (idWorkerLeaseRepository.takeOverExpired(key, holder, leaseExpiresAt, now) == 1 || insert(key, leaseExpiresAt)) {
+                workerKey = key;
+                expiresAt = leaseExpiresAt;
+                log.info("IdWorker lease {} (datacenter {}, worker {}) acquired by {} until {}", key, key / 32, key % 32, holder, leaseExpiresAt);
+                scheduleRenewal();
+                return key;
+            }
+        }
+        throw new IllegalStateException(String.format("All %d IdWorker leases are held by other instances", WORKER_KEYS));
+    }
+
+    /**
+     * Stops the IdWorker of the leased ids once the lease expires (moved on by every renewal) or is taken over.
+     */
+    public void guard(IdWorker idWorker) {
+        if (!properties.lease().enabled()) {
+            return;
+        }
+        this.idWorker = idWorker;
+        idWorker.expireAt(lost ? Long.MIN_VALUE : expiresAt.toEpochMilli());
+    }
+
+    public void renew() {
+        if (!properties.lease().enabled() || workerKey < 0 || lost) {
+            return;
+        }
+        Instant leaseExpiresAt = Instant.now().plus(properties.lease().duration());
+        try {
+            // a row gone (deleted, schema recreated) is not held by anyone else, it is inserted again
+            if (idWorkerLeaseRepository.renew(workerKey, holder, leaseExpiresAt) == 1 || insert(workerKey, leaseExpiresAt)) {
+                expiresAt = leaseExpiresAt;
+                if (idWorker != null) {
+                    idWorker.expireAt(leaseExpiresAt.toEpochMilli());
+                }
+            } else {
+                lost = true;
+                if (idWorker != null) {
+                    idWorker.expireAt(Long.MIN_VALUE);
+                }
+                log.error("IdWorker lease {} was taken over by another instance, no more ids are generated", workerKey);
+            }
+        } catch (Exception e) {
+            // the database may be back before the lease expires
+            log.warn("IdWorker lease {} could not be renewed, it expires at {}", workerKey, expiresAt, e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void release() {
+        if (renewal != null) {
+            renewal.shutdownNow();
+            renewal = null;
+        }
+        if (!properties.lease().enabled() || workerKey < 0 || lost) {
+            return;
+        }
+        try {
+            idWorkerLeaseRepository.release(workerKey, holder);
+            log.info("IdWorker lease {} released", workerKey);
+        } catch (Exception e) {
+            log.warn("IdWorker lease {} could not be released, it expires at {}", workerKey, expiresAt, e);
+        }
+    }
+
+    /**
+     * False once the lease was taken over or expired without being renewed.
+     */
+    public boolean isValid() {
+        return !lost && Instant.now().isBefore(expiresAt);
+    }
+
+    public boolean isLeased() {
+        return properties.lease().enabled();
+    }
+
+    public int workerKey() {
+        return workerKey;
+    }
+
+    public Instant expiresAt() {
+        return expiresAt;
+    }
+
+    private synchronized void scheduleRenewal() {
+        if (renewal != null) {
+            return;
+        }
+        long intervalMillis = properties.lease().renewInterval().toMillis();
+        renewal = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "id-worker-lease-renewal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        renewal.scheduleWithFixedDelay(this::renew, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private boolean insert(int key, Instant leaseExpiresAt) {
+        try {
+            return idWorkerLeaseRepository.insert(key, holder, leaseExpiresAt) == 1;
+        } catch (DataIntegrityViolationException e) {
+            // held by another instance
+            return false;
+        }
+    }
+}
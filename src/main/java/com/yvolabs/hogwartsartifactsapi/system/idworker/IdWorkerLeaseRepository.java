@@ -0,0 +1,40 @@
+package com.yvolabs.hogwartsartifactsapi.system.idworker;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * @author Yvonne N
+ * Every lease change is a single conditional statement in its own transaction, the row count tells whether it happened:
+ * two instances racing for the same worker key cannot both win.
+ */
+@Repository
+public interface IdWorkerLeaseRepository extends JpaRepository<IdWorkerLease, Integer> {
+
+    // the primary key rejects the second of two racing inserts
+    @Transactional
+    @Modifying
+    @Query(value = "insert into id_worker_lease (worker_key, holder, expires_at) values (:workerKey, :holder, :expiresAt)", nativeQuery = true)
+    int insert(@Param("workerKey") int workerKey, @Param("holder") String holder, @Param("expiresAt") Instant expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("update IdWorkerLease l set l.holder = :holder, l.expiresAt = :expiresAt where l.workerKey = :workerKey and l.expiresAt < :now")
+    int takeOverExpired(@Param("workerKey") int workerKey, @Param("holder") String holder, @Param("expiresAt") Instant expiresAt, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("update IdWorkerLease l set l.expiresAt = :expiresAt where l.workerKey = :workerKey and l.holder = :holder")
+    int renew(@Param("workerKey") int workerKey, @Param("holder") String holder, @Param("expiresAt") Instant expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdWorkerLease l where l.workerKey = :workerKey and l.holder = :holder")
+    int release(@Param("workerKey") int workerKey, @Param("holder") String holder);
+}
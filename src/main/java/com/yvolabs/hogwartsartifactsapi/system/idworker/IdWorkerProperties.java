@@ -0,0 +1,34 @@
+package com.yvolabs.hogwartsartifactsapi.system.idworker;
+
+import com.yvolabs.hogwartsartifactsapi.utils.IdWorker;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @author Yvonne N
+ * The application's IdWorker (api.id-worker.*).
+ *
+ * @param clockMode    see IdWorker.ClockMode
+ * @param datacenterId datacenter id without a lease, the first one tried with a lease
+ * @param workerId     worker id without a lease, the first one tried with a lease
+ * @param lease        worker ids leased in the database, so instances sharing it never generate the same ids
+ */
+@ConfigurationProperties(prefix = "api.id-worker")
+public record IdWorkerProperties(@DefaultValue("system") IdWorker.ClockMode clockMode,
+                                 @DefaultValue("1") int datacenterId,
+                                 @DefaultValue("1") int workerId,
+                                 @DefaultValue Lease lease) {
+
+    /**
+     * @param enabled  lease the datacenter and worker ids, off means the configured ones are used as they are
+     * @param duration a lease not renewed for this long may be taken over by another instance,
+     *                 keep it well over renewInterval and the clock skew between instances
+     * @param renewInterval time between two renewals, on a thread of their own
+     */
+    public record Lease(@DefaultValue("true") boolean enabled,
+                        @DefaultValue("60s") Duration duration,
+                        @DefaultValue("20s") Duration renewInterval) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.yvolabs.hogwartsartifactsapi.system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * @author Yvonne N
+ * JFR event of a ChatClient.generate call, see JfrEventsAspect.
+ */
+@Name("com.yvolabs.hogwarts.ChatClientGenerate")
+@Label("Chat Client Generate")
+@Category({"Hogwarts Artifacts API", "Client"})
+@Description("A chat completion request to the AI client")
+@StackTrace(false)
+public class ChatClientEvent extends Event {
+
+    @Label("Model")
+    String model;
+
+    @Label("Messages")
+    int messageCount;
+
+    @Label("Prompt Length")
+    @Description("Characters of the request messages")
+    long promptLength;
+
+    @Label("Response Length")
+    @Description("Characters of the response choices")
+    long responseLength;
+
+    @Label("Failed")
+    boolean failed;
+}
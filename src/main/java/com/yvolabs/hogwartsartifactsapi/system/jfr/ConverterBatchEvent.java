@@ -0,0 +1,51 @@
+package com.yvolabs.hogwartsartifactsapi.system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.core.convert.converter.Converter;
+
+import java.util.List;
+
+/**
+ * @author Yvonne N
+ * JFR event of a list of entities converted to dtos.
+ * The wizard and user lists are projected to dtos by their queries (findAllDtos) and never run a converter over a list,
+ * they show up as ServiceCallEvents instead.
+ */
+@Name("com.yvolabs.hogwarts.ConverterBatch")
+@Label("Converter Batch")
+@Category({"Hogwarts Artifacts API", "Converter"})
+@Description("A list of objects converted by the same converter")
+@StackTrace(false)
+public class ConverterBatchEvent extends Event {
+
+    @Label("Converter")
+    String converter;
+
+    @Label("Items")
+    int itemCount;
+
+    /**
+     * Converts every source, recorded as one ConverterBatchEvent.
+     */
+    public static <S, T> List<T> convertAll(Converter<S, T> converter, List<S> sources) {
+        ConverterBatchEvent event = new ConverterBatchEvent();
+        event.begin();
+
+        List<T> targets = sources.stream()
+                .<T>map(converter::convert)
+                .toList();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.converter = converter.getClass().getSimpleName();
+            event.itemCount = sources.size();
+            event.commit();
+        }
+        return targets;
+    }
+}
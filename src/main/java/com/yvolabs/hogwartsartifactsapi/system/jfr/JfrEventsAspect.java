@@ -0,0 +1,139 @@
+package com.yvolabs.hogwartsartifactsapi.system.jfr;
+
+import com.yvolabs.hogwartsartifactsapi.client.ai.chat.dto.ChatRequest;
+import com.yvolabs.hogwartsartifactsapi.client.ai.chat.dto.ChatResponse;
+import com.yvolabs.hogwartsartifactsapi.client.ai.chat.dto.Choice;
+import com.yvolabs.hogwartsartifactsapi.client.ai.chat.dto.Message;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * @author Yvonne N
+ * Emits ServiceCallEvent and ChatClientEvent around the service hot paths and ChatClient.generate.
+ * When no JFR recording is running the events are disabled and the call goes straight through,
+ * the attributes are only computed for events that will be committed (over their threshold).
+ */
+@Aspect
+@Component
+public class JfrEventsAspect {
+    private static final int MAX_ARGUMENTS_LENGTH = 256;
+
+    @Pointcut("execution(* com.yvolabs.hogwartsartifactsapi.artifact.ArtifactService.findById(..))" +
+            " || execution(* com.yvolabs.hogwartsartifactsapi.artifact.ArtifactService.findDtoById(..))" +
+            " || execution(* com.yvolabs.hogwartsartifactsapi.artifact.ArtifactService.findAll(..))" +
+            " || execution(* com.yvolabs.hogwartsartifactsapi.artifact.ArtifactService.findAllDtos(..))" +
+            " || execution(* com.yvolabs.hogwartsartifactsapi.artifact.ArtifactService.findByCriteria(..))" +
+            " || execution(* com.yvolabs.hogwartsartifactsapi.artifact.ArtifactService.findDtosByCriteria(..))" +
+            " || execution(* com.yvolabs.hogwartsartifactsapi.artifact.ArtifactService.findByCriteriaWithoutCount(..))" +
+            " || execution(* com.yvolabs.hogwartsartifactsapi.artifact.ArtifactService.exportAll(..))" +
+            " || execution(* com.yvolabs.hogwartsartifactsapi.artifact.ArtifactService.summarize(..))" +
+            " || execution(* com.yvolabs.hogwartsartifactsapi.wizard.WizardService.findById(..))" +
+            " || execution(* com.yvolabs.hogwartsartifactsapi.wizard.WizardService.findAll(..))" +
+            " || execution(* com.yvolabs.hogwartsartifactsapi.wizard.WizardService.findAllDtos(..))" +
+            " || execution(* com.yvolabs.hogwartsartifactsapi.hogwartsuser.UserService.findAllDtos(..))" +
+            " || execution(* com.yvolabs.hogwartsartifactsapi.wizard.WizardService.assignArtifact*(..))")
+    void serviceHotPaths() {
+    }
+
+    @Around("serviceHotPaths()")
+    public Object recordServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServiceCallEvent event = new ServiceCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        event.begin();
+        Object result = null;
+        boolean failed = true;
+        try {
+            result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+                event.method = joinPoint.getSignature().getName();
+                event.arguments = describe(joinPoint.getArgs());
+                event.resultCount = failed ? 0 : countOf(result);
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(* com.yvolabs.hogwartsartifactsapi.client.ai.chat.ChatClient.generate(..)) && args(chatRequest)")
+    public Object recordChatClientCall(ProceedingJoinPoint joinPoint, ChatRequest chatRequest) throws Throwable {
+        ChatClientEvent event = new ChatClientEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        event.begin();
+        ChatResponse chatResponse = null;
+        try {
+            chatResponse = (ChatResponse) joinPoint.proceed();
+            return chatResponse;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.model = chatRequest.model();
+                event.messageCount = chatRequest.messages() != null ? chatRequest.messages().size() : 0;
+                event.promptLength = lengthOf(chatRequest.messages());
+                event.responseLength = chatResponse != null && chatResponse.choices() != null ?
+                        lengthOf(chatResponse.choices().stream().map(Choice::message).toList()) : 0;
+                event.failed = chatResponse == null;
+                event.commit();
+            }
+        }
+    }
+
+    private static String describe(Object[] args) {
+        String arguments = Arrays.stream(args)
+                .map(arg -> arg instanceof Collection<?> collection ? collection.size() + " items" : String.valueOf(arg))
+                .collect(Collectors.joining(", "));
+        return arguments.length() > MAX_ARGUMENTS_LENGTH ? arguments.substring(0, MAX_ARGUMENTS_LENGTH) + "..." : arguments;
+    }
+
+    private static int countOf(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Window<?> window) {
+            return window.size();
+        }
+        if (result instanceof Integer count) { // e.g. the artifacts moved by assignArtifacts
+            return count;
+        }
+        return 1;
+    }
+
+    private static long lengthOf(List<Message> messages) {
+        if (messages == null) {
+            return 0;
+        }
+        return messages.stream()
+                .filter(Objects::nonNull)
+                .map(Message::content)
+                .filter(Objects::nonNull)
+                .mapToLong(String::length)
+                .sum();
+    }
+}
@@ -0,0 +1,36 @@
+package com.yvolabs.hogwartsartifactsapi.system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * @author Yvonne N
+ * JFR event of a service hot path call (findById, findAll, findByCriteria, assignArtifact, summarize), see JfrEventsAspect.
+ */
+@Name("com.yvolabs.hogwarts.ServiceCall")
+@Label("Service Call")
+@Category({"Hogwarts Artifacts API", "Service"})
+@Description("A service call with its arguments and result size")
+@StackTrace(false)
+public class ServiceCallEvent extends Event {
+
+    @Label("Service")
+    String service;
+
+    @Label("Method")
+    String method;
+
+    @Label("Arguments")
+    String arguments;
+
+    @Label("Result Count")
+    @Description("Elements returned, 1 for a single value")
+    int resultCount;
+
+    @Label("Failed")
+    boolean failed;
+}
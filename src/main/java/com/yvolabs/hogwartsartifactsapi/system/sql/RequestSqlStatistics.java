@@ -0,0 +1,60 @@
+package com.yvolabs.hogwartsartifactsapi.system.sql;
+
+/**
+ * @author Yvonne N
+ * SQL work done by the current HTTP request (thread), filled by the Hibernate hooks of SqlStatisticsConfiguration
+ * between SqlStatisticsFilter's begin() and end(). Outside a request (startup, schedulers, async dispatch) nothing is counted.
+ */
+public final class RequestSqlStatistics {
+    private static final ThreadLocal<RequestSqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int entityLoads;
+    private int collectionLoads;
+
+    private RequestSqlStatistics() {
+    }
+
+    static RequestSqlStatistics begin() {
+        RequestSqlStatistics statistics = new RequestSqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static void statementPrepared() {
+        RequestSqlStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements++;
+        }
+    }
+
+    static void entityLoaded() {
+        RequestSqlStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.entityLoads++;
+        }
+    }
+
+    static void collectionLoaded() {
+        RequestSqlStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.collectionLoads++;
+        }
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public int entityLoads() {
+        return entityLoads;
+    }
+
+    public int collectionLoads() {
+        return collectionLoads;
+    }
+}
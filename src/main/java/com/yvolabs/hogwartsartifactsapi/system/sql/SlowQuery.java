@@ -0,0 +1,25 @@
+package com.yvolabs.hogwartsartifactsapi.system.sql;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * @author Yvonne N
+ * A statement that took at least api.slow-query.threshold, as listed by actuator/slow-queries.
+ *
+ * @param timestamp     when it started
+ * @param request       "METHOD uri?query" of the HTTP request that issued it, null outside a request
+ * @param sql           the statement, as prepared
+ * @param parameters    its bind parameters in order, i.e. the values of the Specifications, paging and keys
+ * @param rowCount      rows read (queries) or updated (DML)
+ * @param elapsedMillis from execution until its result set was closed
+ * @param plan          the database's EXPLAIN output, null when not captured
+ */
+public record SlowQuery(Instant timestamp,
+                        String request,
+                        String sql,
+                        List<String> parameters,
+                        long rowCount,
+                        long elapsedMillis,
+                        String plan) {
+}
@@ -0,0 +1,39 @@
+package com.yvolabs.hogwartsartifactsapi.system.sql;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * @author Yvonne N
+ * Puts the DataSource behind SlowQueryDataSourceProxy (when api.slow-query.enabled is true) so every statement,
+ * Hibernate's and JdbcTemplate's alike, is timed for the SlowQueryLog.
+ */
+@Configuration
+@EnableConfigurationProperties(SlowQueryProperties.class)
+public class SlowQueryConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public SlowQueryLog slowQueryLog(SlowQueryProperties slowQueryProperties) {
+        return new SlowQueryLog(slowQueryProperties);
+    }
+
+    // static, and the log looked up lazily, so registering the post processor does not create the other beans early
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryProperties> slowQueryProperties,
+                                                                     ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && slowQueryProperties.getObject().enabled()) {
+                    return SlowQueryDataSourceProxy.wrap(dataSource, slowQueryLog.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
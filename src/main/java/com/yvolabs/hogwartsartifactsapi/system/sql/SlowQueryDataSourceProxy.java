@@ -0,0 +1,209 @@
+package com.yvolabs.hogwartsartifactsapi.system.sql;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author Yvonne N
+ * JDK proxies around the DataSource, its connections, statements and result sets timing every statement for SlowQueryLog:
+ * a query from its execution until its result set is closed (or its statement, whichever comes first), so reading the rows counts,
+ * an update or a batch until it returns. The bind parameters of prepared statements are captured as they are set.
+ * <p>
+ * unwrap() and isWrapperFor() go to the proxied object, so the pool is still found behind the proxy (metrics, health).
+ */
+final class SlowQueryDataSourceProxy {
+
+    private SlowQueryDataSourceProxy() {
+    }
+
+    static DataSource wrap(DataSource dataSource, SlowQueryLog slowQueryLog) {
+        return proxy(DataSource.class, dataSource, (proxy, method, args) -> {
+            Object result = invoke(dataSource, method, args);
+            return method.getName().equals("getConnection")
+                    ? proxy(Connection.class, result, new ConnectionHandler((Connection) result, dataSource, slowQueryLog))
+                    : result;
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(SlowQueryDataSourceProxy.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> "SlowQuery proxy of " + target;
+                    default -> handler.invoke(proxy, method, args);
+                }));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private record ConnectionHandler(Connection connection, DataSource dataSource, SlowQueryLog slowQueryLog) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SlowQueryDataSourceProxy.invoke(connection, method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> proxy(PreparedStatement.class, result, new StatementHandler((Statement) result, (String) args[0], this));
+                case "prepareCall" -> proxy(CallableStatement.class, result, new StatementHandler((Statement) result, (String) args[0], this));
+                case "createStatement" -> proxy(Statement.class, result, new StatementHandler((Statement) result, null, this));
+                default -> result;
+            };
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String sql;
+        private final ConnectionHandler connection;
+
+        private final List<Object> parameters = new ArrayList<>();
+        private boolean rebindable = true;
+        private Execution openQuery;
+
+        StatementHandler(Statement statement, String sql, ConnectionHandler connection) {
+            this.statement = statement;
+            this.sql = sql;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (isParameterSetter(method, args)) {
+                setParameter((Integer) args[0], name, name.equals("setNull") ? null : args[1]);
+                return SlowQueryDataSourceProxy.invoke(statement, method, args);
+            }
+
+            switch (name) {
+                case "clearParameters" -> {
+                    parameters.clear();
+                    rebindable = true;
+                }
+                case "close" -> finishOpenQuery();
+                case "executeQuery" -> {
+                    finishOpenQuery();
+                    Execution execution = start(args);
+                    ResultSet resultSet = (ResultSet) SlowQueryDataSourceProxy.invoke(statement, method, args);
+                    openQuery = execution;
+                    return proxy(ResultSet.class, resultSet, new ResultSetHandler(resultSet, execution));
+                }
+                case "execute", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch" -> {
+                    finishOpenQuery();
+                    Execution execution = start(args);
+                    Object result = SlowQueryDataSourceProxy.invoke(statement, method, args);
+                    execution.finish(rowCount(result));
+                    return result;
+                }
+                default -> {
+                }
+            }
+            return SlowQueryDataSourceProxy.invoke(statement, method, args);
+        }
+
+        // PreparedStatement.setXxx(int parameterIndex, value, ...), not the Statement settings nor the named CallableStatement ones
+        private static boolean isParameterSetter(Method method, Object[] args) {
+            return method.getName().startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer && method.getParameterTypes()[0] == int.class
+                    && method.getDeclaringClass() != Statement.class;
+        }
+
+        private void setParameter(int index, String setter, Object value) {
+            while (parameters.size() < index) {
+                parameters.add(null);
+            }
+            if (setter.contains("Stream") || setter.contains("Reader") || value instanceof Blob || value instanceof Clob) {
+                rebindable = false;
+                value = "<" + setter.substring(3) + ">";
+            }
+            parameters.set(index - 1, value);
+        }
+
+        private Execution start(Object[] args) {
+            // Statement.execute*(String sql, ...) vs the prepared ones, a plain Statement batch has no single statement
+            String executed = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+            return new Execution(connection.slowQueryLog(), connection.dataSource(), executed != null ? executed : "<batch>",
+                    Collections.unmodifiableList(new ArrayList<>(parameters)), rebindable, System.nanoTime());
+        }
+
+        private void finishOpenQuery() {
+            if (openQuery != null) {
+                openQuery.finish(openQuery.rowCount);
+                openQuery = null;
+            }
+        }
+
+        private static long rowCount(Object result) {
+            if (result instanceof Number count) {
+                return count.longValue();
+            }
+            if (result instanceof int[] counts) {
+                return Arrays.stream(counts).filter(count -> count > 0).asLongStream().sum();
+            }
+            if (result instanceof long[] counts) {
+                return Arrays.stream(counts).filter(count -> count > 0).sum();
+            }
+            return 0;
+        }
+    }
+
+    private record ResultSetHandler(ResultSet resultSet, Execution execution) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SlowQueryDataSourceProxy.invoke(resultSet, method, args);
+            switch (method.getName()) {
+                case "next" -> {
+                    if (Boolean.TRUE.equals(result)) {
+                        execution.rowCount++;
+                    }
+                }
+                case "close" -> execution.finish(execution.rowCount);
+                default -> {
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class Execution {
+        private final SlowQueryLog slowQueryLog;
+        private final DataSource dataSource;
+        private final String sql;
+        private final List<Object> parameters;
+        private final boolean rebindable;
+        private final long startNanos;
+        private long rowCount;
+        private boolean finished;
+
+        Execution(SlowQueryLog slowQueryLog, DataSource dataSource, String sql, List<Object> parameters, boolean rebindable, long startNanos) {
+            this.slowQueryLog = slowQueryLog;
+            this.dataSource = dataSource;
+            this.sql = sql;
+            this.parameters = parameters;
+            this.rebindable = rebindable;
+            this.startNanos = startNanos;
+        }
+
+        void finish(long rowCount) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            slowQueryLog.finished(sql, parameters, rebindable, rowCount, System.nanoTime() - startNanos, dataSource);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.yvolabs.hogwartsartifactsapi.system.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Yvonne N
+ * The most recent slow queries, fed by the JDBC proxies of SlowQueryDataSourceProxy.
+ * <p>
+ * A slow select is explained (EXPLAIN + the same statement and bind parameters) by a single background thread
+ * on a connection of its own, so the request that ran it does not wait for its plan; it shows up in the log once explained.
+ * Slow queries are rare, the store is a plain deque under a lock.
+ */
+@Slf4j
+public class SlowQueryLog implements AutoCloseable {
+    private static final int MAX_PARAMETER_LENGTH = 100;
+
+    private final SlowQueryProperties properties;
+    private final long thresholdNanos;
+    private final Deque<SlowQuery> slowQueries = new ArrayDeque<>();
+    private final ThreadPoolExecutor explainExecutor;
+
+    public SlowQueryLog(SlowQueryProperties properties) {
+        this.properties = properties;
+        this.thresholdNanos = properties.threshold().toNanos();
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.explainQueue())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Most recent first.
+     */
+    public synchronized List<SlowQuery> slowQueries() {
+        return List.copyOf(slowQueries);
+    }
+
+    public synchronized void clear() {
+        slowQueries.clear();
+    }
+
+    @Override
+    public void close() {
+        explainExecutor.shutdownNow();
+    }
+
+    private static String currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+        String query = servletAttributes.getRequest().getQueryString();
+        return servletAttributes.getRequest().getMethod() + " " + servletAttributes.getRequest().getRequestURI() + (query != null ? "?" + query : "");
+    }
+
+    /**
+     * Called for every statement, on the thread that ran it, once its result set is closed (queries) or it returns (DML).
+     * Only the slow ones are kept, with the HTTP request of the thread.
+     *
+     * @param rebindable false when a parameter cannot be bound again (streams, LOBs), the statement is then not explained
+     */
+    void finished(String sql, List<Object> parameters, boolean rebindable, long rowCount, long elapsedNanos, DataSource dataSource) {
+        if (elapsedNanos < thresholdNanos) {
+            return;
+        }
+        SlowQuery slowQuery = new SlowQuery(Instant.now().minusNanos(elapsedNanos), currentRequest(), sql, describe(parameters), rowCount, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), null);
+
+        if (!properties.explain() || !rebindable || !isSelect(sql)) {
+            add(slowQuery);
+            return;
+        }
+        try {
+            explainExecutor.execute(() -> add(withPlan(slowQuery, explain(sql, parameters, dataSource))));
+        } catch (RejectedExecutionException e) {
+            add(slowQuery);
+        }
+    }
+
+    private synchronized void add(SlowQuery slowQuery) {
+        slowQueries.addFirst(slowQuery);
+        while (slowQueries.size() > properties.capacity()) {
+            slowQueries.removeLast();
+        }
+    }
+
+    private static String explain(String sql, List<Object> parameters, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+                StringJoiner plan = new StringJoiner("\n");
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.add(resultSet.getString(1));
+                    }
+                }
+                return plan.toString();
+            }
+        } catch (Exception e) {
+            log.debug("Could not explain slow query {}", sql, e);
+            return "EXPLAIN failed: " + e.getMessage();
+        }
+    }
+
+    private static SlowQuery withPlan(SlowQuery slowQuery, String plan) {
+        return new SlowQuery(slowQuery.timestamp(), slowQuery.request(), slowQuery.sql(), slowQuery.parameters(),
+                slowQuery.rowCount(), slowQuery.elapsedMillis(), plan);
+    }
+
+    private static boolean isSelect(String sql) {
+        String statement = sql.stripLeading();
+        return statement.regionMatches(true, 0, "select", 0, 6) || statement.regionMatches(true, 0, "with", 0, 4);
+    }
+
+    private static List<String> describe(List<Object> parameters) {
+        List<String> descriptions = new ArrayList<>(parameters.size());
+        for (Object parameter : parameters) {
+            String description = String.valueOf(parameter);
+            descriptions.add(description.length() > MAX_PARAMETER_LENGTH ? description.substring(0, MAX_PARAMETER_LENGTH) + "..." : description);
+        }
+        return descriptions;
+    }
+}
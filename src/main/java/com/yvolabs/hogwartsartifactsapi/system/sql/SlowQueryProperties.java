@@ -0,0 +1,26 @@
+package com.yvolabs.hogwartsartifactsapi.system.sql;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @author Yvonne N
+ * Slow-query log (api.slow-query.*), see SlowQueryLog and actuator/slow-queries.
+ *
+ * @param enabled      wrap the DataSource, off (the default) means no JDBC call goes through the proxies. Switch it on while
+ *                     investigating: on in-memory H2 the proxies add about 0.8µs per statement and 0.1µs per row read
+ *                     (SlowQueryProxyBenchmark), noise next to a networked database but twice the cost of an H2 select of 100 rows
+ * @param threshold    statements taking at least this long (execution plus reading their rows) are logged
+ * @param capacity     most recent slow queries kept
+ * @param explain      capture the database's EXPLAIN of the slow selects, on a connection of their own
+ * @param explainQueue slow queries waiting for their EXPLAIN, the ones over it are kept without a plan
+ */
+@ConfigurationProperties(prefix = "api.slow-query")
+public record SlowQueryProperties(@DefaultValue("false") boolean enabled,
+                                  @DefaultValue("200ms") Duration threshold,
+                                  @DefaultValue("100") int capacity,
+                                  @DefaultValue("true") boolean explain,
+                                  @DefaultValue("100") int explainQueue) {
+}
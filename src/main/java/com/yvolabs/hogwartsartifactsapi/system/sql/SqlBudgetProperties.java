@@ -0,0 +1,22 @@
+package com.yvolabs.hogwartsartifactsapi.system.sql;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * @author Yvonne N
+ * Per-request SQL statement budgets (api.sql-budget.*), a request issuing more statements than its endpoint's budget is logged as a likely N+1.
+ *
+ * @param defaultBudget budget of the endpoints not listed
+ * @param endpoints     budget per endpoint, keyed on "METHOD uri-pattern" e.g. "[GET /api/v1/artifacts/{artifactId}]": 1
+ */
+@ConfigurationProperties(prefix = "api.sql-budget")
+public record SqlBudgetProperties(@DefaultValue("10") int defaultBudget,
+                                  @DefaultValue Map<String, Integer> endpoints) {
+
+    public int budgetOf(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaultBudget);
+    }
+}
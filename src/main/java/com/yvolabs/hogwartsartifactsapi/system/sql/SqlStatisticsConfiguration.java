@@ -0,0 +1,64 @@
+package com.yvolabs.hogwartsartifactsapi.system.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * @author Yvonne N
+ * Hibernate hooks feeding RequestSqlStatistics:
+ * a StatementInspector sees every SQL statement before it is prepared, a PostLoad listener every entity hydrated from a row
+ * and an InitializeCollection listener every lazy collection initialized (the usual N+1 suspect).
+ *
+ * @see SqlStatisticsFilter
+ */
+@Configuration
+@EnableConfigurationProperties(SqlBudgetProperties.class)
+public class SqlStatisticsConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCountingCustomizer() {
+        StatementInspector statementInspector = sql -> {
+            RequestSqlStatistics.statementPrepared();
+            return sql;
+        };
+
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, statementInspector);
+    }
+
+    // appended after Hibernate's own listeners, they only count
+    @Bean
+    public SmartInitializingSingleton sqlLoadListenersRegistrar(EntityManagerFactory entityManagerFactory) {
+        return () -> {
+            EventListenerRegistry eventListenerRegistry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getServiceRegistry()
+                    .getService(EventListenerRegistry.class);
+
+            eventListenerRegistry.appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> RequestSqlStatistics.entityLoaded());
+            eventListenerRegistry.appendListeners(EventType.INIT_COLLECTION, (InitializeCollectionEventListener) event -> RequestSqlStatistics.collectionLoaded());
+        };
+    }
+
+    // right after the request starts, before security, so the authentication queries are counted too
+    @Bean
+    public FilterRegistrationBean<SqlStatisticsFilter> sqlStatisticsFilter(MeterRegistry meterRegistry, SqlBudgetProperties sqlBudgetProperties,
+                                                                          @Value("${api.sql-statistics.server-timing:false}") boolean serverTiming) {
+        FilterRegistrationBean<SqlStatisticsFilter> registration = new FilterRegistrationBean<>(new SqlStatisticsFilter(meterRegistry, sqlBudgetProperties, serverTiming));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
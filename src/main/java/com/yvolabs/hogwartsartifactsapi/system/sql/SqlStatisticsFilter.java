@@ -0,0 +1,96 @@
+package com.yvolabs.hogwartsartifactsapi.system.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * @author Yvonne N
+ * Counts the SQL statements, entity loads and collection initializations of every HTTP request (see RequestSqlStatistics) and
+ * - adds them to the Server-Timing response header (browser dev tools show it), as they are when the response is committed,
+ *   only with api.sql-statistics.server-timing (on in dev): every client would see them
+ * - publishes them as distributions tagged by endpoint: http.server.requests.sql.statements, .entity.loads, .collection.loads
+ * - logs a warning when the statements exceed the endpoint's budget (SqlBudgetProperties), the N+1 detector.
+ * Registered by SqlStatisticsConfiguration.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final MeterRegistry meterRegistry;
+    private final SqlBudgetProperties sqlBudgetProperties;
+    private final boolean serverTiming;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RequestSqlStatistics statistics = RequestSqlStatistics.begin();
+        if (!serverTiming) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                RequestSqlStatistics.end();
+                record(request, statistics);
+            }
+            return;
+        }
+
+        OnCommittedResponseWrapper responseWrapper = new OnCommittedResponseWrapper(response) {
+            @Override
+            protected void onResponseCommitted() {
+                addServerTiming(response, statistics);
+            }
+        };
+
+        try {
+            filterChain.doFilter(request, responseWrapper);
+        } finally {
+            RequestSqlStatistics.end();
+            if (!response.isCommitted() && !response.containsHeader(SERVER_TIMING)) {
+                addServerTiming(response, statistics);
+            }
+            record(request, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestSqlStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        summary("http.server.requests.sql.statements", "SQL statements per request", tags).record(statistics.statements());
+        summary("http.server.requests.sql.entity.loads", "Entities loaded per request", tags).record(statistics.entityLoads());
+        summary("http.server.requests.sql.collection.loads", "Lazy collections initialized per request", tags).record(statistics.collectionLoads());
+
+        String endpoint = request.getMethod() + " " + uri;
+        int budget = sqlBudgetProperties.budgetOf(endpoint);
+        if (statistics.statements() > budget) {
+            log.warn("Possible N+1: {} issued {} SQL statements (budget {}), {} entity loads, {} collection initializations",
+                    endpoint, statistics.statements(), budget, statistics.entityLoads(), statistics.collectionLoads());
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, Tags tags) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private static void addServerTiming(HttpServletResponse response, RequestSqlStatistics statistics) {
+        response.addHeader(SERVER_TIMING, String.format("sql-statements;desc=\"%d\", entity-loads;desc=\"%d\", collection-loads;desc=\"%d\"",
+                statistics.statements(), statistics.entityLoads(), statistics.collectionLoads()));
+    }
+}
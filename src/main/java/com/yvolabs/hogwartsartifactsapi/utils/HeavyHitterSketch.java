@@ -0,0 +1,121 @@
+package com.yvolabs.hogwartsartifactsapi.utils;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Yvonne N
+ * Fixed-memory, lock-free "heavy hitters" (most frequent keys) tracker, the memory does not grow with the number of distinct keys.
+ * <p>
+ * A Count-Min sketch (depth rows of width counters) estimates how often each key was seen, never under-counting,
+ * over-counting by at most totalCount * e / width with probability 1 - e^-depth.
+ * The k keys with the highest estimates are kept in k slots, a key replaces the smallest slot once its estimate is bigger.
+ * <p>
+ * Counters are updated with atomic increments and slots with a single compare-and-set, a lost slot race is not retried
+ * (the key gets its next chance on its next hit), so record() never blocks or spins.
+ */
+public class HeavyHitterSketch {
+    private static final long[] SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x27D4EB2F165667C5L, 0x94D049BB133111EBL};
+
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counters;
+    private final AtomicReferenceArray<HeavyHitter> slots;
+    private final LongAdder totalCount = new LongAdder();
+
+    /**
+     * @param topK  number of heavy hitters kept
+     * @param width counters per row, rounded up to a power of 2 (accuracy)
+     * @param depth number of rows, at most 8 (confidence)
+     */
+    public HeavyHitterSketch(int topK, int width, int depth) {
+        if (topK < 1 || width < 1 || depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException(String.format("topK and width must be positive, depth between 1 and %d", SEEDS.length));
+        }
+        this.depth = depth;
+        this.width = width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+        this.counters = new AtomicLongArray(this.depth * this.width);
+        this.slots = new AtomicReferenceArray<>(topK);
+    }
+
+    public void record(String key) {
+        totalCount.increment();
+
+        // increment one counter per row, the estimate is the smallest of them (the least collided one)
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(row * width + index(hash, row)));
+        }
+
+        offer(key, estimate);
+    }
+
+    public long totalCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * Upper bound (with probability 1 - e^-depth) of how much any estimate may be over-counted right now.
+     */
+    public long errorBound() {
+        return (long) Math.ceil(Math.E * totalCount() / width);
+    }
+
+    /**
+     * The heavy hitters, most frequent first.
+     */
+    public List<HeavyHitter> topK() {
+        Map<String, HeavyHitter> byKey = new HashMap<>();
+        for (int i = 0; i < slots.length(); i++) {
+            HeavyHitter slot = slots.get(i);
+            // racing offers may have put the same key in two slots, keep its highest estimate
+            if (slot != null) {
+                byKey.merge(slot.key(), slot, (a, b) -> a.estimatedCount() >= b.estimatedCount() ? a : b);
+            }
+        }
+        List<HeavyHitter> topK = new ArrayList<>(byKey.values());
+        topK.sort(Comparator.comparingLong(HeavyHitter::estimatedCount).reversed());
+        return topK;
+    }
+
+    private void offer(String key, long estimate) {
+        int smallestSlot = -1;
+        HeavyHitter smallest = null;
+        for (int i = 0; i < slots.length(); i++) {
+            HeavyHitter slot = slots.get(i);
+            if (slot == null) {
+                if (slots.compareAndSet(i, null, new HeavyHitter(key, estimate))) {
+                    return;
+                }
+                slot = slots.get(i);
+            }
+            if (slot.key().equals(key)) {
+                if (slot.estimatedCount() < estimate) {
+                    slots.compareAndSet(i, slot, new HeavyHitter(key, estimate));
+                }
+                return;
+            }
+            if (smallest == null || slot.estimatedCount() < smallest.estimatedCount()) {
+                smallest = slot;
+                smallestSlot = i;
+            }
+        }
+
+        if (smallest != null && smallest.estimatedCount() < estimate) {
+            slots.compareAndSet(smallestSlot, smallest, new HeavyHitter(key, estimate));
+        }
+    }
+
+    private int index(int hash, int row) {
+        long h = (hash ^ SEEDS[row]) * SEEDS[(row + 1) % SEEDS.length];
+        h ^= h >>> 32;
+        return (int) h & (width - 1);
+    }
+
+    public record HeavyHitter(String key, long estimatedCount) {
+    }
+}
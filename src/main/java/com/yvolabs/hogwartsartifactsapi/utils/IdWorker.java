@@ -3,12 +3,31 @@ package com.yvolabs.hogwartsartifactsapi.utils;
 import java.lang.management.ManagementFactory;
 import java.net.InetAddress;
 import java.net.NetworkInterface;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
 
 /**
  * @author Yvonne N
  * IdGenerator: usecase - some companies may need to generate their own id, this is an example algorithmn
- * Bean Declared in (HogwartsArtifactsApiApplication.class)
+ * Bean Declared in (IdWorkerConfiguration.class), on database-leased ids
  * Usages
+ * <p>
+ * Lock-free: the timestamp (since twepoch) and the sequence of the last id are packed in one AtomicLong,
+ * laid out as in the id (timestamp << sequenceBits | sequence), and moved forward with compare-and-set.
+ * All the state is per instance, two IdWorkers never affect each other.
+ * <p>
+ * reserve() claims a block of consecutive sequence values (at most the 4096 of a millisecond) with a single compare-and-set,
+ * nextIds() is built on it. Meant for bulk inserts only: a block reserved ahead for a caller taking one id at a time
+ * would mostly go unused and eat into the 4096 ids of the millisecond.
+ * <p>
+ * ClockMode.SYSTEM reads the wall clock: a clock moved backwards fails the call, an exhausted sequence spins until the next millisecond.
+ * ClockMode.MONOTONIC reads the wall clock once, at construction, then moves on with System.nanoTime(): a wall clock moved backwards
+ * (NTP step, VM resume) is only counted, and an exhausted sequence parks the thread until the next millisecond.
+ * Its ids drift from the wall clock by as much as the wall clock is corrected while the instance lives.
+ * <p>
+ * expireAt() makes every call fail from a given wall clock time on, for worker ids that are only leased (IdWorkerLeaseManager).
  */
 public class IdWorker {
     private final static long twepoch = 1288834974657L;
@@ -31,21 +50,52 @@ public class IdWorker {
 
     private final static long sequenceMask = -1L ^ (-1L << sequenceBits);
 
-    private static long lastTimestamp = -1L;
-
-    private long sequence = 0L;
+    // (last timestamp - twepoch) << sequenceBits | last sequence
+    private final AtomicLong state = new AtomicLong();
 
     private final long workerId;
 
     private final long datacenterId;
 
+    private final ClockMode clockMode;
+
+    private final LongSupplier wallClock;
+
+    private final LongSupplier nanoClock;
+
+    private final long anchorMillis;
+
+    private final long anchorNanos;
+
+    // last wall clock reading, to tell a clock moved backwards in MONOTONIC mode
+    private final AtomicLong lastWallClock = new AtomicLong();
+
+    private final LongAdder clockRegressions = new LongAdder();
+
+    private final LongAdder sequenceExhaustions = new LongAdder();
+
+    // wall clock millisecond from which no id is generated any more, Long.MAX_VALUE = never
+    private volatile long expiresAtMillis = Long.MAX_VALUE;
 
     public IdWorker() {
         this.datacenterId = getDatacenterId(maxDatacenterId);
         this.workerId = getMaxWorkerId(datacenterId, maxWorkerId);
+        this.clockMode = ClockMode.SYSTEM;
+        this.wallClock = System::currentTimeMillis;
+        this.nanoClock = System::nanoTime;
+        this.anchorMillis = wallClock.getAsLong();
+        this.anchorNanos = nanoClock.getAsLong();
     }
 
     public IdWorker(long workerId, long datacenterId) {
+        this(workerId, datacenterId, ClockMode.SYSTEM);
+    }
+
+    public IdWorker(long workerId, long datacenterId, ClockMode clockMode) {
+        this(workerId, datacenterId, clockMode, System::currentTimeMillis, System::nanoTime);
+    }
+
+    IdWorker(long workerId, long datacenterId, ClockMode clockMode, LongSupplier wallClock, LongSupplier nanoClock) {
         if (workerId > maxWorkerId || workerId < 0) {
             throw new IllegalArgumentException(String.format("worker Id can't be greater than %d or less than 0", maxWorkerId));
         }
@@ -54,38 +104,137 @@ public class IdWorker {
         }
         this.workerId = workerId;
         this.datacenterId = datacenterId;
+        this.clockMode = clockMode;
+        this.wallClock = wallClock;
+        this.nanoClock = nanoClock;
+        this.anchorMillis = wallClock.getAsLong();
+        this.anchorNanos = nanoClock.getAsLong();
+        this.lastWallClock.set(anchorMillis);
+    }
+
+    public ClockMode clockMode() {
+        return clockMode;
+    }
+
+    /**
+     * Times the wall clock was seen moving backwards, failed calls in SYSTEM mode, tolerated in MONOTONIC mode.
+     */
+    public long clockRegressions() {
+        return clockRegressions.sum();
+    }
+
+    /**
+     * Times a caller found the 4096 ids of the current millisecond used up and had to wait for the next one.
+     */
+    public long sequenceExhaustions() {
+        return sequenceExhaustions.sum();
+    }
+
+    /**
+     * No id is generated from the given wall clock time (epoch milliseconds) on, reserve() throws an IllegalStateException instead:
+     * the worker and datacenter ids may be another instance's by then. Long.MAX_VALUE lifts it.
+     */
+    public void expireAt(long epochMillis) {
+        this.expiresAtMillis = epochMillis;
     }
 
-    public synchronized long nextId() {
-        long timestamp = timeGen();
-        if (timestamp < lastTimestamp) {
-            throw new RuntimeException(String.format("Clock moved backwards.  Refusing to generate id for %d milliseconds", lastTimestamp - timestamp));
+    public long nextId() {
+        return reserve(1).firstId();
+    }
+
+    /**
+     * Generates count ids, e.g. for batch inserts, one reserve() per millisecond worth of sequence values.
+     */
+    public long[] nextIds(int count) {
+        long[] ids = new long[count];
+        int filled = 0;
+        while (filled < count) {
+            IdBlock block = reserve(count - filled);
+            for (int i = 0; i < block.size(); i++) {
+                ids[filled++] = block.firstId() + i;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Reserves up to max consecutive ids in one go: the ids firstId to firstId + size - 1 are the caller's.
+     * Fewer than max are returned once the current millisecond runs out of sequence values, never more than 4096.
+     */
+    public IdBlock reserve(int max) {
+        if (max < 1) {
+            throw new IllegalArgumentException("max must be positive");
         }
-        if (lastTimestamp == timestamp) {
-            sequence = (sequence + 1) & sequenceMask;
-            if (sequence == 0) {
-                timestamp = tilNextMillis(lastTimestamp);
+        long expiresAt = expiresAtMillis;
+        if (expiresAt != Long.MAX_VALUE && wallClock.getAsLong() >= expiresAt) {
+            throw new IllegalStateException(String.format("IdWorker datacenter %d worker %d expired, refusing to generate ids another instance may generate too", datacenterId, workerId));
+        }
+        for (; ; ) {
+            // read the state before the clock: a timestamp set by another thread is then never ahead of ours
+            long last = state.get();
+            long lastTimestamp = (last >>> sequenceBits) + twepoch;
+            long timestamp = timeGen();
+            if (timestamp < lastTimestamp) {
+                clockRegressions.increment();
+                throw new RuntimeException(String.format("Clock moved backwards.  Refusing to generate id for %d milliseconds", lastTimestamp - timestamp));
+            }
+
+            long first;
+            int size;
+            if (timestamp == lastTimestamp) {
+                long remaining = sequenceMask - (last & sequenceMask);
+                if (remaining == 0) {
+                    // sequence exhausted for this millisecond
+                    sequenceExhaustions.increment();
+                    if (clockMode == ClockMode.MONOTONIC) {
+                        parkTilNextMillis(lastTimestamp);
+                    } else {
+                        tilNextMillis(lastTimestamp);
+                    }
+                    continue;
+                }
+                first = last + 1;
+                size = (int) Math.min(max, remaining);
+            } else {
+                first = (timestamp - twepoch) << sequenceBits;
+                size = (int) Math.min(max, sequenceMask + 1);
+            }
+
+            if (state.compareAndSet(last, first + size - 1)) {
+                return new IdBlock(((first >>> sequenceBits) << timestampLeftShift)
+                        | (datacenterId << datacenterIdShift)
+                        | (workerId << workerIdShift) | (first & sequenceMask), size);
             }
-        } else {
-            sequence = 0L;
         }
-        lastTimestamp = timestamp;
-        long nextId = ((timestamp - twepoch) << timestampLeftShift)
-                | (datacenterId << datacenterIdShift)
-                | (workerId << workerIdShift) | sequence;
-        return nextId;
     }
 
     private long tilNextMillis(final long lastTimestamp) {
         long timestamp = this.timeGen();
         while (timestamp <= lastTimestamp) {
+            Thread.onSpinWait();
             timestamp = this.timeGen();
         }
         return timestamp;
     }
 
+    private void parkTilNextMillis(final long lastTimestamp) {
+        while (timeGen() <= lastTimestamp) {
+            long elapsedNanos = nanoClock.getAsLong() - anchorNanos;
+            LockSupport.parkNanos(1_000_000 - elapsedNanos % 1_000_000);
+        }
+    }
+
     private long timeGen() {
-        return System.currentTimeMillis();
+        if (clockMode == ClockMode.SYSTEM) {
+            return wallClock.getAsLong();
+        }
+        // only the winner of the CAS counts a given step back
+        long wall = wallClock.getAsLong();
+        long lastWall = lastWallClock.get();
+        if (wall != lastWall && lastWallClock.compareAndSet(lastWall, wall) && wall < lastWall) {
+            clockRegressions.increment();
+        }
+        return anchorMillis + (nanoClock.getAsLong() - anchorNanos) / 1_000_000;
     }
 
     protected static long getMaxWorkerId(long datacenterId, long maxWorkerId) {
@@ -116,4 +265,14 @@ public class IdWorker {
         }
         return id;
     }
+
+    public enum ClockMode {
+        SYSTEM, MONOTONIC
+    }
+
+    /**
+     * The ids firstId, firstId + 1, ... firstId + size - 1, they only differ in their sequence bits.
+     */
+    public record IdBlock(long firstId, int size) {
+    }
 }
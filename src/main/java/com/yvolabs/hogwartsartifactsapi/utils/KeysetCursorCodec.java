@@ -0,0 +1,104 @@
+package com.yvolabs.hogwartsartifactsapi.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yvolabs.hogwartsartifactsapi.artifact.Artifact;
+import com.yvolabs.hogwartsartifactsapi.system.exception.InvalidCursorException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author Yvonne N
+ * Encodes a keyset scroll position (the sort keys + id of the last row of a page) into an opaque, url safe continuation token and back.
+ * The sort the token was created with travels inside the token, so a client keeps walking in the same order even if it
+ * changes the sort query param halfway.
+ * <p>
+ * An empty/blank cursor means "first page". A token whose id is not a well-formed artifact id is rejected like any
+ * other malformed token, it would otherwise only fail once bound to the BIGINT id column.
+ * So is a token sorting by anything but SORTABLE_PROPERTIES, or whose keys are not exactly its sort properties and the id:
+ * the query would only fail once built or bound (500).
+ */
+public class KeysetCursorCodec {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    // the artifact properties a keyset page can be sorted by, all of them strings
+    static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "name", "description", "imageUrl", "owner.name");
+
+    private KeysetCursorCodec() {
+    }
+
+    public static String encode(KeysetScrollPosition position, Sort sort) {
+        Map<String, String> orders = new LinkedHashMap<>();
+        sort.forEach(order -> orders.put(order.getProperty(), order.getDirection().name()));
+
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(new Token(orders, position.getKeys()));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+    }
+
+    public static Cursor decode(String cursor, Sort defaultSort) {
+        if (!StringUtils.hasText(cursor)) {
+            return new Cursor(ScrollPosition.keyset(), defaultSort);
+        }
+
+        Token token;
+        try {
+            token = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), Token.class);
+        } catch (Exception e) {
+            throw new InvalidCursorException(cursor, e);
+        }
+        if (token.keys() == null || !(token.keys().get("id") instanceof String id) || !Artifact.isWellFormedId(id)) {
+            throw new InvalidCursorException(cursor);
+        }
+
+        List<Sort.Order> orders;
+        try {
+            orders = token.sort().entrySet().stream()
+                    .map(entry -> new Sort.Order(Sort.Direction.valueOf(entry.getValue()), entry.getKey()))
+                    .toList();
+        } catch (Exception e) {
+            throw new InvalidCursorException(cursor, e);
+        }
+        if (!hasSortableKeys(orders, token.keys())) {
+            throw new InvalidCursorException(cursor);
+        }
+
+        return new Cursor(ScrollPosition.forward(token.keys()), Sort.by(orders));
+    }
+
+    private static boolean hasSortableKeys(List<Sort.Order> orders, Map<String, Object> keys) {
+        Set<String> properties = new HashSet<>();
+        properties.add("id");
+        for (Sort.Order order : orders) {
+            String property = order.getProperty();
+            if (!SORTABLE_PROPERTIES.contains(property) || !keys.containsKey(property)) {
+                return false;
+            }
+            // null for an artifact without owner
+            if (keys.get(property) != null && !(keys.get(property) instanceof String)) {
+                return false;
+            }
+            properties.add(property);
+        }
+
+        return properties.equals(keys.keySet());
+    }
+
+    public record Cursor(KeysetScrollPosition position, Sort sort) {
+    }
+
+    private record Token(Map<String, String> sort, Map<String, Object> keys) {
+    }
+}
@@ -2,10 +2,9 @@ package com.yvolabs.hogwartsartifactsapi.wizard;
 
 import com.yvolabs.hogwartsartifactsapi.artifact.Artifact;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Formula;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -29,6 +28,11 @@ public class Wizard implements Serializable {
     @OneToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE}, mappedBy = "owner")
     private List<Artifact> artifacts = new ArrayList<>();
 
+    // Counted by the database in the same select that loads the wizard, so the artifacts don't have to be loaded just to count them.
+    @Formula("(select count(a.id) from artifact a where a.owner_id = id)")
+    @Setter(AccessLevel.NONE)
+    private Integer artifactCount;
+
 
     public void addArtifact(Artifact artifact) {
         artifact.setOwner(this);
@@ -36,6 +40,10 @@ public class Wizard implements Serializable {
     }
 
     public Integer getNumberOfArtifacts() {
+        // Artifacts not loaded (lazy), use the count loaded along with the wizard.
+        if (this.artifactCount != null && !Hibernate.isInitialized(this.artifacts)) {
+            return this.artifactCount;
+        }
         return this.artifacts != null ? this.artifacts.size() : 0;
     }
 
@@ -2,11 +2,13 @@ package com.yvolabs.hogwartsartifactsapi.wizard;
 
 import com.yvolabs.hogwartsartifactsapi.system.Result;
 import com.yvolabs.hogwartsartifactsapi.system.StatusCode;
+import com.yvolabs.hogwartsartifactsapi.system.exception.BatchTooLargeException;
 import com.yvolabs.hogwartsartifactsapi.wizard.converter.WizardDtoToWizardConvertor;
 import com.yvolabs.hogwartsartifactsapi.wizard.converter.WizardToWizardDtoConverter;
 import com.yvolabs.hogwartsartifactsapi.wizard.dto.WizardDto;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -23,13 +25,13 @@ public class WizardController {
     private final WizardToWizardDtoConverter wizardToWizardDtoConverter;
     private final WizardDtoToWizardConvertor wizardDtoToWizardConvertor;
 
+    @Value("${api.batch.max-size:10000}")
+    private int batchMaxSize;
+
     @GetMapping
     public ResponseEntity<Result> findAllWizards() {
-        List<Wizard> wizards = wizardService.findAll();
-
-        List<WizardDto> wizardDtos = wizards.stream()
-                .map(wizardToWizardDtoConverter::convert)
-                .toList();
+        // projected by the query (no converter needed)
+        List<WizardDto> wizardDtos = wizardService.findAllDtos();
 
         Result result = Result.builder()
                 .flag(true)
@@ -96,6 +98,23 @@ public class WizardController {
                 .build());
     }
 
+    // bulk assignment - body: ["artifactId1", "artifactId2", ...], data: the number of artifacts moved
+    @PutMapping("/{wizardId}/artifacts")
+    public ResponseEntity<Result> assignArtifacts(@PathVariable Integer wizardId, @RequestBody List<String> artifactIds) {
+        if (artifactIds.size() > batchMaxSize) {
+            throw new BatchTooLargeException(artifactIds.size(), batchMaxSize);
+        }
+
+        int movedArtifacts = wizardService.assignArtifacts(wizardId, artifactIds);
+
+        return ResponseEntity.ok(Result.builder()
+                .flag(true)
+                .code(StatusCode.SUCCESS)
+                .message("Artifact Bulk Assignment Success")
+                .data(movedArtifacts)
+                .build());
+    }
+
     @PutMapping("/{wizardId}/artifacts/{artifactId}")
     public ResponseEntity<Result> assignArtifact(@PathVariable Integer wizardId, @PathVariable String artifactId) {
         wizardService.assignArtifact(wizardId, artifactId);
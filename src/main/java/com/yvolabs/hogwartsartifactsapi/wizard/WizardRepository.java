@@ -1,9 +1,17 @@
 package com.yvolabs.hogwartsartifactsapi.wizard;
 
+import com.yvolabs.hogwartsartifactsapi.wizard.dto.WizardDto;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 /**
  * @author Yvonne N
  */
 public interface WizardRepository extends JpaRepository<Wizard, Integer> {
+
+    // projection, builds the DTO records in the select without loading Wizard entities
+    @Query("select new com.yvolabs.hogwartsartifactsapi.wizard.dto.WizardDto(w.id, w.name, w.artifactCount) from Wizard w")
+    List<WizardDto> findAllDtos();
 }
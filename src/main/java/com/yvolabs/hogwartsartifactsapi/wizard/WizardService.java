@@ -1,5 +1,7 @@
 package com.yvolabs.hogwartsartifactsapi.wizard;
 
+import com.yvolabs.hogwartsartifactsapi.wizard.dto.WizardDto;
+
 import java.util.List;
 
 /**
@@ -8,6 +10,8 @@ import java.util.List;
 public interface WizardService {
     List<Wizard> findAll();
 
+    List<WizardDto> findAllDtos();
+
     Wizard findById(Integer wizardId);
 
     void delete(Integer wizardId);
@@ -17,4 +21,6 @@ public interface WizardService {
     Wizard update(Integer wizardId, Wizard update);
 
     void assignArtifact(Integer wizardId, String artifactId);
+
+    int assignArtifacts(Integer wizardId, List<String> artifactIds);
 }
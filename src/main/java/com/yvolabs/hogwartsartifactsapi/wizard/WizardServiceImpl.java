@@ -2,12 +2,20 @@ package com.yvolabs.hogwartsartifactsapi.wizard;
 
 import com.yvolabs.hogwartsartifactsapi.artifact.Artifact;
 import com.yvolabs.hogwartsartifactsapi.artifact.ArtifactRepository;
+import com.yvolabs.hogwartsartifactsapi.system.cache.CacheConfiguration;
 import com.yvolabs.hogwartsartifactsapi.system.exception.ObjectNotFoundException;
-import jakarta.transaction.Transactional;
+import com.yvolabs.hogwartsartifactsapi.wizard.dto.WizardDto;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * @author Yvonne N
@@ -19,24 +27,42 @@ public class WizardServiceImpl implements WizardService {
     private final WizardRepository wizardRepository;
     private final ArtifactRepository artifactRepository;
 
+    @Value("${api.bulk-assignment.chunk-size:1000}")
+    private int assignmentChunkSize;
+
     @Override
     public List<Wizard> findAll() {
         return wizardRepository.findAll();
     }
 
+    // read-only projection straight into the dtos (no entities, no dirty checking)
     @Override
+    @Transactional(readOnly = true)
+    public List<WizardDto> findAllDtos() {
+        return wizardRepository.findAllDtos();
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfiguration.WIZARDS, key = "#wizardId")
     public Wizard findById(Integer wizardId) {
         return wizardRepository.findById(wizardId)
                 .orElseThrow(() -> new ObjectNotFoundException("wizard", wizardId));
     }
 
     @Override
+    @CachePut(cacheNames = CacheConfiguration.WIZARDS, key = "#result.id")
     public Wizard save(Wizard wizard) {
         return wizardRepository.save(wizard);
     }
 
     // We are not updating a wizard's artifacts through this method, we only update their name.
+    // The wizard's name is also cached as the owner of its artifacts.
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.WIZARDS, key = "#wizardId"),
+            @CacheEvict(cacheNames = CacheConfiguration.ARTIFACTS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfiguration.ARTIFACT_SEARCHES, allEntries = true)
+    })
     public Wizard update(Integer wizardId, Wizard update) {
         Wizard foundWizard = wizardRepository.findById(wizardId)
                 .orElseThrow(() -> new ObjectNotFoundException("wizard", wizardId));
@@ -47,6 +73,11 @@ public class WizardServiceImpl implements WizardService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.WIZARDS, key = "#wizardId"),
+            @CacheEvict(cacheNames = CacheConfiguration.ARTIFACTS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfiguration.ARTIFACT_SEARCHES, allEntries = true)
+    })
     public void delete(Integer wizardId) {
         Wizard wizardTobeDeleted = wizardRepository.findById(wizardId)
                 .orElseThrow(() -> new ObjectNotFoundException("wizard", wizardId));
@@ -57,9 +88,18 @@ public class WizardServiceImpl implements WizardService {
 
     }
 
+    // Both the old and the new owner's number of artifacts change.
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.WIZARDS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfiguration.ARTIFACTS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfiguration.ARTIFACT_SEARCHES, allEntries = true)
+    })
     public void assignArtifact(Integer wizardId, String artifactId) {
-        Artifact artifactToBeAssigned = this.artifactRepository.findById(artifactId)
+        // a malformed id cannot be bound to the BIGINT key, it is no artifact's id
+        Artifact artifactToBeAssigned = Optional.ofNullable(artifactId)
+                .filter(Artifact::isWellFormedId)
+                .flatMap(this.artifactRepository::findById)
                 .orElseThrow(() -> new ObjectNotFoundException("artifact", artifactId));
 
         Wizard wizard = this.wizardRepository.findById(wizardId)
@@ -73,4 +113,26 @@ public class WizardServiceImpl implements WizardService {
         wizard.addArtifact(artifactToBeAssigned);
     }
 
+    // Bulk version of assignArtifact: one UPDATE per chunk of ids (bounded IN list), the owners' artifacts collections are never loaded.
+    // Unknown (or malformed) ids and artifacts the wizard already owns are skipped, returns the number of artifacts moved.
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.WIZARDS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfiguration.ARTIFACTS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfiguration.ARTIFACT_SEARCHES, allEntries = true)
+    })
+    public int assignArtifacts(Integer wizardId, List<String> artifactIds) {
+        if (!this.wizardRepository.existsById(wizardId)) {
+            throw new ObjectNotFoundException("wizard", wizardId);
+        }
+
+        List<String> distinctArtifactIds = artifactIds.stream().filter(Artifact::isWellFormedId).distinct().toList();
+        int movedArtifacts = 0;
+        for (int from = 0; from < distinctArtifactIds.size(); from += assignmentChunkSize) {
+            List<String> chunk = distinctArtifactIds.subList(from, Math.min(from + assignmentChunkSize, distinctArtifactIds.size()));
+            movedArtifacts += this.artifactRepository.assignOwner(wizardId, chunk);
+        }
+        return movedArtifacts;
+    }
+
 }
@@ -0,0 +1,115 @@
+package com.yvolabs.hogwartsartifactsapi.artifact;
+
+import com.yvolabs.hogwartsartifactsapi.artifact.dto.ArtifactDto;
+import com.yvolabs.hogwartsartifactsapi.system.cache.CacheConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Yvonne N
+ * Cache evictions of artifact writes are applied once the write commits, after the trigram index is updated:
+ * a search between the two must not put stale ids back, nor a search that read before the write committed.
+ */
+@SpringBootTest
+@DisplayName("Artifact cache evictions on commit")
+@Tag("Integration")
+@ActiveProfiles(value = "dev")
+class ArtifactCacheTransactionIntegrationTest {
+    private static final String CLOAK_ID = "1250808601744904192";
+
+    @Autowired
+    private ArtifactService artifactService;
+
+    @Autowired
+    private ArtifactSearchResultCache artifactSearchResultCache;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final Pageable pageable = PageRequest.of(0, 10);
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @AfterEach
+    void tearDown() {
+        artifactService.update(CLOAK_ID, artifact("Invisibility Cloak"));
+    }
+
+    @Test
+    void testSearchCacheIsEvictedOnceTheUpdateCommits() {
+        Map<String, String> cloak = Map.of("name", "cloak");
+        assertThat(artifactService.findByCriteria(cloak, pageable).getContent()).extracting(Artifact::getId).containsExactly(CLOAK_ID);
+        assertThat(artifactService.findDtoById(CLOAK_ID).name()).isEqualTo("Invisibility Cloak");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            artifactService.update(CLOAK_ID, artifact("Invisibility Cape"));
+
+            // not committed yet, neither evicted
+            assertThat(artifactSearchResultCache.get(cloak, pageable)).isPresent();
+            assertThat(cacheManager.getCache(CacheConfiguration.ARTIFACTS).get(CLOAK_ID)).isNotNull();
+        });
+
+        assertThat(artifactSearchResultCache.get(cloak, pageable)).isEmpty();
+        assertThat(cacheManager.getCache(CacheConfiguration.ARTIFACTS).get(CLOAK_ID)).isNull();
+        assertThat(artifactService.findByCriteria(cloak, pageable).getContent()).isEmpty();
+        assertThat(artifactService.findByCriteria(Map.of("name", "cape"), pageable).getContent()).extracting(Artifact::getId).containsExactly(CLOAK_ID);
+    }
+
+    @Test
+    void testRolledBackUpdateEvictsNothing() {
+        Map<String, String> cloak = Map.of("name", "cloak");
+        artifactService.findByCriteria(cloak, pageable);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            artifactService.update(CLOAK_ID, artifact("Invisibility Cape"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(artifactSearchResultCache.get(cloak, pageable)).isPresent();
+        assertThat(artifactService.findByCriteria(Map.of("name", "cape"), pageable).getContent()).isEmpty();
+    }
+
+    @Test
+    void testSearchThatReadBeforeTheUpdateCommittedIsNotCached() {
+        Map<String, String> cloak = Map.of("name", "cloak");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(artifactService.findDtosByCriteria(cloak, pageable).getContent()).extracting(ArtifactDto::id).containsExactly(CLOAK_ID);
+
+            // committed and evicted by another request while this search's put still waits for its own commit
+            CompletableFuture.runAsync(() -> artifactService.update(CLOAK_ID, artifact("Invisibility Cape"))).join();
+        });
+
+        assertThat(artifactSearchResultCache.get(cloak, pageable)).isEmpty();
+        assertThat(artifactService.findDtosByCriteria(cloak, pageable).getContent()).isEmpty();
+    }
+
+    private static Artifact artifact(String name) {
+        Artifact artifact = new Artifact();
+        artifact.setName(name);
+        artifact.setDescription("An invisibility cloak is used to make the wearer invisible.");
+        artifact.setImageUrl("ImageUrl");
+        return artifact;
+    }
+}
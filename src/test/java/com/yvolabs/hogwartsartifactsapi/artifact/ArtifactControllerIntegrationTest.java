@@ -8,12 +8,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -22,13 +25,23 @@ import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
  * @author Yvonne N
@@ -45,6 +58,9 @@ public class ArtifactControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private String token;
 
     @Value("${api.endpoint.base-url}/artifacts")
@@ -116,6 +132,262 @@ public class ArtifactControllerIntegrationTest {
 
     }
 
+    @Test
+    @DisplayName("Check findAllArtifacts With Keyset Pagination (GET)")
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testFindAllSuccessWithCursor() throws Exception {
+        MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<>();
+        queryParams.add("cursor", "");
+        queryParams.add("size", "2");
+        queryParams.add("sort", "name,asc");
+
+        // first page
+        MvcResult firstPage = mockMvc.perform(get(ARTIFACTS_PATH).params(queryParams).accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.code").value(StatusCode.SUCCESS))
+                .andExpect(jsonPath("$.message").value("Find All Success"))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(2)))
+                .andExpect(jsonPath("$.data.content[0].name").value("Deluminator"))
+                .andExpect(jsonPath("$.data.content[1].name").value("Elder Wand"))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andReturn();
+        String nextCursor = new JSONObject(firstPage.getResponse().getContentAsString()).getJSONObject("data").getString("nextCursor");
+
+        // second page, the sort travels inside the cursor
+        queryParams.set("cursor", nextCursor);
+        queryParams.remove("sort");
+        MvcResult secondPage = mockMvc.perform(get(ARTIFACTS_PATH).params(queryParams).accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(2)))
+                .andExpect(jsonPath("$.data.content[0].name").value("Invisibility Cloak"))
+                .andExpect(jsonPath("$.data.content[1].name").value("Resurrection Stone"))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andReturn();
+        nextCursor = new JSONObject(secondPage.getResponse().getContentAsString()).getJSONObject("data").getString("nextCursor");
+
+        // last page
+        queryParams.set("cursor", nextCursor);
+        mockMvc.perform(get(ARTIFACTS_PATH).params(queryParams).accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(2)))
+                .andExpect(jsonPath("$.data.content[0].name").value("The Marauder's Map"))
+                .andExpect(jsonPath("$.data.content[1].name").value("The Sword Of Gryffindor"))
+                .andExpect(jsonPath("$.data.hasNext").value(false))
+                .andExpect(jsonPath("$.data.nextCursor").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Check findAllArtifacts Throws With Invalid Cursor (GET)")
+    void testFindAllThrowsWithInvalidCursor() throws Exception {
+        mockMvc.perform(get(ARTIFACTS_PATH).param("cursor", "not-a-cursor").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.flag").value(false))
+                .andExpect(jsonPath("$.code").value(StatusCode.INVALID_ARGUMENT))
+                .andExpect(jsonPath("$.message").value("The cursor not-a-cursor is invalid or expired"));
+    }
+
+    @Test
+    @DisplayName("Check findAllArtifacts Throws With Cursor Holding A Malformed Id (GET)")
+    void testFindAllThrowsWithCursorHoldingMalformedId() throws Exception {
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"sort\":{\"name\":\"ASC\"},\"keys\":{\"name\":\"Elder Wand\",\"id\":\"abc\"}}".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(get(ARTIFACTS_PATH).param("cursor", cursor).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.flag").value(false))
+                .andExpect(jsonPath("$.code").value(StatusCode.INVALID_ARGUMENT))
+                .andExpect(jsonPath("$.message").value("The cursor " + cursor + " is invalid or expired"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"sort\":{\"bogus\":\"ASC\"},\"keys\":{\"bogus\":\"x\",\"id\":\"1250808601744904192\"}}",
+            "{\"sort\":{\"owner\":\"ASC\"},\"keys\":{\"owner\":{\"id\":1},\"id\":\"1250808601744904192\"}}",
+            "{\"sort\":{\"name\":\"ASC\"},\"keys\":{\"id\":\"1250808601744904192\"}}",
+            "{\"sort\":{\"name\":\"ASC\"},\"keys\":{\"name\":1,\"id\":\"1250808601744904192\"}}",
+            "{\"sort\":{\"name\":\"SIDEWAYS\"},\"keys\":{\"name\":\"Elder Wand\",\"id\":\"1250808601744904192\"}}"
+    })
+    @DisplayName("Check findAllArtifacts Throws With Cursor Holding A Tampered Sort (GET)")
+    void testFindAllThrowsWithCursorHoldingTamperedSort(String token) throws Exception {
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(get(ARTIFACTS_PATH).param("cursor", cursor).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.flag").value(false))
+                .andExpect(jsonPath("$.code").value(StatusCode.INVALID_ARGUMENT))
+                .andExpect(jsonPath("$.message").value("The cursor " + cursor + " is invalid or expired"));
+    }
+
+    @Test
+    @DisplayName("Check findAllArtifacts With Keyset Pagination Sorted By Owner Name (GET)")
+    void testFindAllSuccessWithCursorSortedByOwnerName() throws Exception {
+        MvcResult firstPage = mockMvc.perform(get(ARTIFACTS_PATH).param("cursor", "").param("size", "2").param("sort", "owner.name,asc").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andReturn();
+        String nextCursor = new JSONObject(firstPage.getResponse().getContentAsString()).getJSONObject("data").getString("nextCursor");
+
+        mockMvc.perform(get(ARTIFACTS_PATH).param("cursor", nextCursor).param("size", "2").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(2)));
+    }
+
+    @Test
+    @DisplayName("Check findAllArtifacts Without Count (GET)")
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testFindAllSuccessWithoutCount() throws Exception {
+        MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<>();
+        queryParams.add("page", "2");
+        queryParams.add("size", "2");
+        queryParams.add("sort", "name,asc");
+        queryParams.add("count", "none");
+
+        mockMvc.perform(get(ARTIFACTS_PATH).params(queryParams).accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.code").value(StatusCode.SUCCESS))
+                .andExpect(jsonPath("$.message").value("Find All Success"))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(2)))
+                .andExpect(jsonPath("$.data.content[0].name").value("The Marauder's Map"))
+                .andExpect(jsonPath("$.data.number").value(2))
+                .andExpect(jsonPath("$.data.hasNext").value(false))
+                .andExpect(jsonPath("$.data.approximateTotal").doesNotExist());
+
+        queryParams.set("page", "0");
+        queryParams.set("count", "approximate");
+        mockMvc.perform(get(ARTIFACTS_PATH).params(queryParams).accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(2)))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andExpect(jsonPath("$.data.approximateTotal").value(6));
+    }
+
+    @Test
+    @DisplayName("Check findAllArtifacts Throws With Unknown Count (GET)")
+    void testFindAllThrowsWithUnknownCount() throws Exception {
+        mockMvc.perform(get(ARTIFACTS_PATH).param("count", "foo").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.flag").value(false))
+                .andExpect(jsonPath("$.code").value(StatusCode.INVALID_ARGUMENT))
+                .andExpect(jsonPath("$.message").value("The count foo is invalid, it must be one of [none, approximate, exact]"));
+
+        mockMvc.perform(post(ARTIFACTS_PATH + "/search").param("count", "foo").contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"wand\"}").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(StatusCode.INVALID_ARGUMENT));
+    }
+
+    @Test
+    @DisplayName("Check exportArtifacts (GET)")
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testExportArtifactsSuccess() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get(ARTIFACTS_PATH + "/export").header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(6);
+        assertThat(new JSONObject(lines[0]).getString("id")).isEqualTo("1250808601744904191");
+        assertThat(new JSONObject(lines[5]).getString("id")).isEqualTo("1250808601744904196");
+
+        // resume after the fourth artifact
+        mvcResult = mockMvc.perform(get(ARTIFACTS_PATH + "/export").param("afterId", "1250808601744904194").header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        body = mockMvc.perform(asyncDispatch(mvcResult)).andReturn().getResponse().getContentAsString();
+        lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(new JSONObject(lines[0]).getString("id")).isEqualTo("1250808601744904195");
+        assertThat(new JSONObject(lines[0]).getJSONObject("owner").getString("name")).isEqualTo("Neville Longbottom");
+    }
+
+    @Test
+    @DisplayName("Check exportArtifacts Throws With Malformed afterId (GET)")
+    void testExportArtifactsThrowsWithMalformedAfterId() throws Exception {
+        mockMvc.perform(get(ARTIFACTS_PATH + "/export").param("afterId", "abc").header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.flag").value(false))
+                .andExpect(jsonPath("$.code").value(StatusCode.INVALID_ARGUMENT))
+                .andExpect(jsonPath("$.message").value("The cursor abc is invalid or expired"));
+    }
+
+    @Test
+    @DisplayName("Check exportArtifacts with no access token (GET)")
+    void testExportArtifactsNoAccessToken() throws Exception {
+        mockMvc.perform(get(ARTIFACTS_PATH + "/export"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.flag").value(false))
+                .andExpect(jsonPath("$.code").value(StatusCode.UNAUTHORIZED));
+    }
+
+    @Test
+    @DisplayName("Check searchArtifacts re-checks the trigram candidates in the database (POST)")
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testSearchDoesNotReturnArtifactRenamedByAnotherInstance() throws Exception {
+        // written behind this instance's back, its trigram index still has the old name
+        jdbcTemplate.update("update artifact set name = 'Cape' where id = 1250808601744904192");
+
+        mockMvc.perform(post(ARTIFACTS_PATH + "/search").contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"cloak\"}").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("Check findArtifactById lookups show up in actuator/artifact-popularity (GET)")
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testFindArtifactByIdIsTrackedAsPopular() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            this.mockMvc.perform(get(ARTIFACTS_PATH + "/1250808601744904193").accept(MediaType.APPLICATION_JSON));
+        }
+        this.mockMvc.perform(get(ARTIFACTS_PATH + "/1250808601744904191").accept(MediaType.APPLICATION_JSON));
+
+        this.mockMvc.perform(get("/actuator/artifact-popularity").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.data.totalLookups").value(4))
+                .andExpect(jsonPath("$.data.topArtifacts", Matchers.hasSize(2)))
+                .andExpect(jsonPath("$.data.topArtifacts[0].key").value("1250808601744904193"))
+                .andExpect(jsonPath("$.data.topArtifacts[0].estimatedCount").value(3));
+
+        this.mockMvc.perform(get("/actuator/metrics/artifacts.popularity").param("tag", "rank:1").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(jsonPath("$.measurements[0].value").value(3.0));
+    }
+
+    @Test
+    @DisplayName("Check findArtifactById calls are recorded as JFR events by actuator/jfr (POST, GET, DELETE)")
+    void testFindArtifactByIdIsRecordedByJfr() throws Exception {
+        this.mockMvc.perform(post("/actuator/jfr").contentType(MediaType.APPLICATION_JSON).content("{\"settings\": \"default\"}").header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.data.state").value("RUNNING"));
+
+        this.mockMvc.perform(get(ARTIFACTS_PATH + "/1250808601744904192").accept(MediaType.APPLICATION_JSON));
+
+        byte[] dump = this.mockMvc.perform(get("/actuator/jfr").header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        this.mockMvc.perform(delete("/actuator/jfr").header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(jsonPath("$.flag").value(true));
+
+        Path file = Files.createTempFile("artifacts-", ".jfr");
+        try {
+            Files.write(file, dump);
+            List<RecordedEvent> serviceCalls = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("com.yvolabs.hogwarts.ServiceCall"))
+                    .filter(event -> event.getString("method").equals("findDtoById"))
+                    .toList();
+
+            assertThat(serviceCalls).anySatisfy(event -> {
+                assertThat(event.getString("service")).isEqualTo("ArtifactServiceImpl");
+                assertThat(event.getString("arguments")).isEqualTo("1250808601744904192");
+                assertThat(event.getInt("resultCount")).isEqualTo(1);
+            });
+        } finally {
+            Files.delete(file);
+        }
+
+        this.mockMvc.perform(get("/actuator/jfr").header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("Check findArtifactById (GET)")
     void testFindArtifactByIdSuccess() throws Exception {
@@ -137,6 +409,20 @@ public class ArtifactControllerIntegrationTest {
                 .andExpect(jsonPath("$.data").isEmpty());
     }
 
+    @Test
+    @DisplayName("Check findArtifactById and search with a non-numeric id (GET, POST)")
+    void testFindArtifactByMalformedIdNotFound() throws Exception {
+        // ids are stored as BIGINT, a malformed one is just not found
+        this.mockMvc.perform(get(ARTIFACTS_PATH + "/not-an-id").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(jsonPath("$.flag").value(false))
+                .andExpect(jsonPath("$.code").value(StatusCode.NOT_FOUND))
+                .andExpect(jsonPath("$.message").value("Could not find artifact with Id not-an-id"));
+
+        this.mockMvc.perform(post(ARTIFACTS_PATH + "/search").contentType(MediaType.APPLICATION_JSON).content("{\"id\": \"not-an-id\"}").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(0)));
+    }
+
     @Test
     @DisplayName("Check addArtifact with valid input (POST)")
     @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
@@ -203,6 +489,59 @@ public class ArtifactControllerIntegrationTest {
     }
 
 
+    @Test
+    @DisplayName("Check addArtifacts in batch (POST)")
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testAddArtifactsBatchSuccess() throws Exception {
+        List<Map<String, String>> artifacts = List.of(
+                Map.of("name", "Remembrall", "description", "A Remembrall is a magical large marble-sized glass ball.", "imageUrl", "ImageUrl"),
+                Map.of("name", "Time-Turner", "imageUrl", "ImageUrl"),
+                Map.of("name", "Pensieve", "description", "A Pensieve is used to review memories.", "imageUrl", "ImageUrl"));
+
+        this.mockMvc.perform(post(ARTIFACTS_PATH + "/batch").contentType(MediaType.APPLICATION_JSON).content(this.objectMapper.writeValueAsString(artifacts)).accept(MediaType.APPLICATION_JSON).header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.code").value(StatusCode.SUCCESS))
+                .andExpect(jsonPath("$.message").value("Batch Add Success"))
+                .andExpect(jsonPath("$.data", Matchers.hasSize(3)))
+                .andExpect(jsonPath("$.data[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.data[0].id").isNotEmpty())
+                .andExpect(jsonPath("$.data[1].index").value(1))
+                .andExpect(jsonPath("$.data[1].status").value("INVALID"))
+                .andExpect(jsonPath("$.data[1].errors.description").value("description is required."))
+                .andExpect(jsonPath("$.data[2].index").value(2))
+                .andExpect(jsonPath("$.data[2].status").value("CREATED"));
+
+        this.mockMvc.perform(get(ARTIFACTS_PATH).accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(8)));
+
+        // the new artifacts are searchable right away
+        this.mockMvc.perform(post(ARTIFACTS_PATH + "/search").contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"pensieve\"}").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(1)));
+    }
+
+    @Test
+    @DisplayName("Check addArtifacts with a null item (POST)")
+    void testAddArtifactsBatchReportsNullItemAsInvalid() throws Exception {
+        this.mockMvc.perform(post(ARTIFACTS_PATH + "/batch").contentType(MediaType.APPLICATION_JSON).content("[null]").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.code").value(StatusCode.SUCCESS))
+                .andExpect(jsonPath("$.data", Matchers.hasSize(1)))
+                .andExpect(jsonPath("$.data[0].index").value(0))
+                .andExpect(jsonPath("$.data[0].status").value("INVALID"))
+                .andExpect(jsonPath("$.data[0].errors.artifact").value("artifact is required."));
+    }
+
+    @Test
+    @DisplayName("Check addArtifacts with too many items (POST)")
+    void testAddArtifactsBatchErrorWhenTooLarge() throws Exception {
+        List<Map<String, String>> artifacts = Collections.nCopies(10001, Map.of("name", "name", "description", "description", "imageUrl", "ImageUrl"));
+
+        this.mockMvc.perform(post(ARTIFACTS_PATH + "/batch").contentType(MediaType.APPLICATION_JSON).content(this.objectMapper.writeValueAsString(artifacts)).accept(MediaType.APPLICATION_JSON).header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(jsonPath("$.flag").value(false))
+                .andExpect(jsonPath("$.code").value(StatusCode.INVALID_ARGUMENT))
+                .andExpect(jsonPath("$.message").value("The batch has 10001 items, at most 10000 are allowed"));
+    }
+
     @Test
     @DisplayName("Check updateArtifact with valid input (PUT)")
     void testUpdateArtifactSuccess() throws Exception {
@@ -224,6 +563,28 @@ public class ArtifactControllerIntegrationTest {
                 .andExpect(jsonPath("$.data.imageUrl").value("Updated imageUrl"));
     }
 
+    @Test
+    @DisplayName("Check updateArtifact evicts the cached artifact (PUT)")
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testUpdateArtifactEvictsCachedArtifact() throws Exception {
+        // first lookup caches the artifact
+        this.mockMvc.perform(get(ARTIFACTS_PATH + "/1250808601744904192").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.name").value("Invisibility Cloak"));
+
+        Artifact a = new Artifact();
+        a.setName("Updated artifact name");
+        a.setDescription("Updated description");
+        a.setImageUrl("Updated imageUrl");
+
+        this.mockMvc.perform(put(ARTIFACTS_PATH + "/1250808601744904192").contentType(MediaType.APPLICATION_JSON).content(this.objectMapper.writeValueAsString(a)).accept(MediaType.APPLICATION_JSON).header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(jsonPath("$.flag").value(true));
+
+        this.mockMvc.perform(get(ARTIFACTS_PATH + "/1250808601744904192").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.name").value("Updated artifact name"))
+                .andExpect(jsonPath("$.data.owner.name").value("Harry Potter"))
+                .andExpect(jsonPath("$.data.owner.numberOfArtifacts").value(2));
+    }
+
     @Test
     @DisplayName("Check updateArtifact with non-existent id (PUT)")
     void testUpdateArtifactErrorWithNonExistentId() throws Exception {
@@ -316,6 +677,37 @@ public class ArtifactControllerIntegrationTest {
 
     }
 
+    @Test
+    @DisplayName("Check the search sees updated and deleted artifacts (POST)")
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void findArtifactByNameAfterUpdateAndDelete() throws Exception {
+        Map<String, String> searchCriteria = new HashMap<>();
+        searchCriteria.put("name", "sword");
+
+        Artifact a = new Artifact();
+        a.setName("Updated Sword");
+        a.setDescription("Updated description");
+        a.setImageUrl("Updated imageUrl");
+        this.mockMvc.perform(put(ARTIFACTS_PATH + "/1250808601744904196").contentType(MediaType.APPLICATION_JSON).content(this.objectMapper.writeValueAsString(a)).accept(MediaType.APPLICATION_JSON).header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(jsonPath("$.code").value(StatusCode.SUCCESS));
+
+        mockMvc.perform(post(ARTIFACTS_PATH + "/search").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(searchCriteria)).accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(2)));
+
+        // the old name is not found anymore
+        searchCriteria.put("name", "stone");
+        mockMvc.perform(post(ARTIFACTS_PATH + "/search").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(searchCriteria)).accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(0)));
+
+        this.mockMvc.perform(delete(ARTIFACTS_PATH + "/1250808601744904196").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(jsonPath("$.code").value(StatusCode.SUCCESS));
+
+        searchCriteria.put("name", "sword");
+        mockMvc.perform(post(ARTIFACTS_PATH + "/search").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(searchCriteria)).accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(1)))
+                .andExpect(jsonPath("$.data.content[0].name").value("The Sword Of Gryffindor"));
+    }
+
     @Test
     void findArtifactByNameAndDescription() throws Exception {
         // searchCriteria
@@ -366,5 +758,58 @@ public class ArtifactControllerIntegrationTest {
 
     }
 
+    @Test
+    void findArtifactByDescriptionWithCursor() throws Exception {
+        Map<String, String> searchCriteria = new HashMap<>();
+        searchCriteria.put("description", "hogwarts");
+
+        MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<>();
+        queryParams.add("cursor", "");
+        queryParams.add("size", "1");
+        queryParams.add("sort", "name,asc");
+
+        MvcResult firstPage = mockMvc.perform(post(ARTIFACTS_PATH + "/search").params(queryParams)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(searchCriteria))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.message").value("Search Success"))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(1)))
+                .andExpect(jsonPath("$.data.content[0].name").value("The Marauder's Map"))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andReturn();
+        String nextCursor = new JSONObject(firstPage.getResponse().getContentAsString()).getJSONObject("data").getString("nextCursor");
+
+        queryParams.set("cursor", nextCursor);
+        mockMvc.perform(post(ARTIFACTS_PATH + "/search").params(queryParams)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(searchCriteria))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(1)))
+                .andExpect(jsonPath("$.data.content[0].name").value("The Sword Of Gryffindor"))
+                .andExpect(jsonPath("$.data.hasNext").value(false));
+    }
+
+    @Test
+    void findArtifactByDescriptionWithoutCount() throws Exception {
+        Map<String, String> searchCriteria = new HashMap<>();
+        searchCriteria.put("description", "hogwarts");
+
+        MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<>();
+        queryParams.add("page", "0");
+        queryParams.add("size", "1");
+        queryParams.add("sort", "name,asc");
+        queryParams.add("count", "approximate");
+
+        mockMvc.perform(post(ARTIFACTS_PATH + "/search").params(queryParams)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(searchCriteria))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.message").value("Search Success"))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(1)))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andExpect(jsonPath("$.data.approximateTotal").value(2));
+    }
 
 }
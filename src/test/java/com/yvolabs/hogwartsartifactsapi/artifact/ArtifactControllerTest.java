@@ -14,14 +14,12 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
@@ -30,6 +28,9 @@ import org.springframework.web.client.HttpClientErrorException;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.mockito.ArgumentMatchers.eq;
@@ -77,7 +78,8 @@ class ArtifactControllerTest {
     @Test
     void tesFindArtifactByIdSuccess() throws Exception {
         String artifactId = "1250808601744904191";
-        given(artifactService.findById(artifactId)).willReturn(artifacts.get(0));
+        Artifact artifact = artifacts.get(0);
+        given(artifactService.findDtoById(artifactId)).willReturn(new ArtifactDto(artifact.getId(), artifact.getName(), artifact.getDescription(), artifact.getImageUrl(), null, null, null));
 
 // not needed if using @SpringBootTest instead of @WebMvcTest
 //        Counter mockedCounter = mock(Counter.class);
@@ -95,7 +97,7 @@ class ArtifactControllerTest {
     @Test
     void testFindArtifactByIdNotFound() throws Exception {
         String artifactId = "1250808601744904191";
-        given(artifactService.findById(artifactId)).willThrow(new ObjectNotFoundException("artifact", artifactId));
+        given(artifactService.findDtoById(artifactId)).willThrow(new ObjectNotFoundException("artifact", artifactId));
 
         // When and then
         mockMvc.perform(get(PATH + "/" + artifactId).accept(MediaType.APPLICATION_JSON))
@@ -113,8 +115,11 @@ class ArtifactControllerTest {
         // given(artifactService.findAll()).willReturn(artifacts);
 
         Pageable pageable = PageRequest.of(0, 20, Sort.by("name, asc"));
-        PageImpl<Artifact> artifactPage = new PageImpl<>(artifacts, pageable, artifacts.size());
-        given(artifactService.findAll(Mockito.any(Pageable.class))).willReturn(artifactPage);
+        List<ArtifactDto> artifactDtos = artifacts.stream()
+                .map(artifact -> new ArtifactDto(artifact.getId(), artifact.getName(), artifact.getDescription(), artifact.getImageUrl(), null, null, null))
+                .toList();
+        PageImpl<ArtifactDto> artifactDtoPage = new PageImpl<>(artifactDtos, pageable, artifactDtos.size());
+        given(artifactService.findAllDtos(Mockito.any(Pageable.class))).willReturn(artifactDtoPage);
 
         MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<>();
         queryParams.add("page", "0");
@@ -132,6 +137,25 @@ class ArtifactControllerTest {
                 .andExpect(jsonPath("$.data.content[1].name").value("Invisibility Cloak"));
     }
 
+    @Test
+    void testFindAllArtifactsByCursorSuccess() throws Exception {
+        Window<Artifact> artifactWindow = Window.from(artifacts, index -> ScrollPosition.forward(Map.of("id", artifacts.get(index).getId())), true);
+        given(artifactService.findAll(Mockito.any(ScrollPosition.class), eq(2), Mockito.any(Sort.class))).willReturn(artifactWindow);
+
+        MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<>();
+        queryParams.add("cursor", "");
+        queryParams.add("size", "2");
+
+        mockMvc.perform(get(PATH).params(queryParams).accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.code").value(StatusCode.SUCCESS))
+                .andExpect(jsonPath("$.message").value("Find All Success"))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(artifacts.size())))
+                .andExpect(jsonPath("$.data.content[0].id").value("1250808601744904191"))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andExpect(jsonPath("$.data.nextCursor").isNotEmpty());
+    }
+
     @Test
     void testAddArtifactSuccess() throws Exception {
         ArtifactDto artifactDto = ArtifactDto.builder()
@@ -405,6 +429,30 @@ class ArtifactControllerTest {
                 .andExpect(jsonPath("$.data").value("The server is currently overloaded, please try again later"));
     }
 
+    @Test
+    void testExportArtifactsTooManyInProgress() throws Exception {
+        // Given - api.export.max-concurrent: 2 exports stuck streaming
+        CountDownLatch streaming = new CountDownLatch(1);
+        doAnswer(invocation -> streaming.await(10, TimeUnit.SECONDS)).when(artifactService).exportAll(any(), any());
+
+        MvcResult first = mockMvc.perform(get(PATH + "/export")).andExpect(request().asyncStarted()).andReturn();
+        MvcResult second = mockMvc.perform(get(PATH + "/export")).andExpect(request().asyncStarted()).andReturn();
+
+        // When and Then
+        mockMvc.perform(get(PATH + "/export"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.flag").value(false))
+                .andExpect(jsonPath("$.code").value(StatusCode.TOO_MANY_REQUESTS))
+                .andExpect(jsonPath("$.message").value("Too many exports in progress (2 at most), try again later"));
+
+        // a finished export gives its slot back
+        streaming.countDown();
+        mockMvc.perform(asyncDispatch(first)).andExpect(status().isOk());
+        mockMvc.perform(asyncDispatch(second)).andExpect(status().isOk());
+        mockMvc.perform(get(PATH + "/export")).andExpect(request().asyncStarted());
+    }
+
     private void setArtifactsData() {
         this.artifacts = new ArrayList<>();
 
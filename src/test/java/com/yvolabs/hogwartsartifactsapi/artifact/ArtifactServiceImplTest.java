@@ -2,6 +2,7 @@ package com.yvolabs.hogwartsartifactsapi.artifact;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yvolabs.hogwartsartifactsapi.artifact.dto.ArtifactBatchItemResult;
 import com.yvolabs.hogwartsartifactsapi.artifact.dto.ArtifactDto;
 import com.yvolabs.hogwartsartifactsapi.client.ai.chat.ChatClient;
 import com.yvolabs.hogwartsartifactsapi.client.ai.chat.dto.ChatRequest;
@@ -19,11 +20,19 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.*;
+import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
@@ -52,6 +61,15 @@ class ArtifactServiceImplTest {
     @Mock
     private IdWorker idWorker;
 
+    @Mock
+    private ArtifactTrigramIndex artifactTrigramIndex;
+
+    @Mock
+    private ArtifactSearchResultCache artifactSearchResultCache;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private ArtifactServiceImpl artifactService;
 
@@ -112,6 +130,29 @@ class ArtifactServiceImplTest {
 
     }
 
+    @Test
+    void testFindDtoByIdSuccess() {
+        ArtifactDto artifactDto = new ArtifactDto("1250808601744904191", "Deluminator", "description", "imageUrl", 1, "Albus Dumbledore", 2);
+        given(artifactRepository.findDtoById("1250808601744904191")).willReturn(Optional.of(artifactDto));
+
+        ArtifactDto returnedArtifactDto = artifactService.findDtoById("1250808601744904191");
+
+        assertThat(returnedArtifactDto).isEqualTo(artifactDto);
+        verify(artifactRepository, times(1)).findDtoById("1250808601744904191");
+        verify(artifactRepository, never()).findById(Mockito.anyString());
+    }
+
+    @Test
+    void testFindDtoByIdNotFound() {
+        given(artifactRepository.findDtoById(Mockito.anyString())).willReturn(Optional.empty());
+
+        Throwable throwable = catchThrowable(() -> artifactService.findDtoById("1250808601744904192"));
+
+        assertThat(throwable)
+                .isInstanceOf(ObjectNotFoundException.class)
+                .hasMessageContaining("Could not find artifact with Id 1250808601744904192");
+    }
+
     @Test
     void testFindAllSuccess() {
         given(artifactRepository.findAll()).willReturn(artifacts);
@@ -123,6 +164,28 @@ class ArtifactServiceImplTest {
         verify(artifactRepository, times(1)).findAll();
     }
 
+    @Test
+    void testFindAllDtosSuccess() {
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("name"));
+        List<ArtifactDto> artifactDtos = List.of(
+                new ArtifactDto("1250808601744904191", "Deluminator", "description", "imageUrl", 1, "Albus Dumbledore", 2));
+        given(artifactRepository.findAllDtos(pageable)).willReturn(new PageImpl<>(artifactDtos, pageable, 1));
+
+        Page<ArtifactDto> returnedPage = artifactService.findAllDtos(pageable);
+
+        assertThat(returnedPage.getContent()).isEqualTo(artifactDtos);
+        assertThat(returnedPage.getContent().get(0).owner().name()).isEqualTo("Albus Dumbledore");
+        verify(artifactRepository, times(1)).findAllDtos(pageable);
+    }
+
+    @Test
+    void testFindAllDtosWithInvalidSort() {
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("unknown"));
+
+        assertThrows(PropertyReferenceException.class, () -> artifactService.findAllDtos(pageable));
+        verify(artifactRepository, never()).findAllDtos(pageable);
+    }
+
     @Test
     void testSaveSuccess() {
         Artifact newArtifact = Artifact.builder()
@@ -144,6 +207,48 @@ class ArtifactServiceImplTest {
 
     }
 
+    @Test
+    void testSaveAllSuccessInChunks() {
+        ReflectionTestUtils.setField(artifactService, "batchChunkSize", 2);
+        List<Artifact> newArtifacts = List.of(
+                Artifact.builder().name("name 1").build(),
+                Artifact.builder().name("name 2").build(),
+                Artifact.builder().name("name 3").build());
+        given(idWorker.nextIds(3)).willReturn(new long[]{1L, 2L, 3L});
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        List<ArtifactBatchItemResult> results = artifactService.saveAll(newArtifacts);
+
+        assertThat(results).extracting(ArtifactBatchItemResult::id).containsExactly("1", "2", "3");
+        assertThat(results).extracting(ArtifactBatchItemResult::status).containsOnly(ArtifactBatchItemResult.Status.CREATED);
+        verify(idWorker, times(1)).nextIds(3);
+        verify(artifactRepository, times(1)).persistAll(newArtifacts.subList(0, 2));
+        verify(artifactRepository, times(1)).persistAll(newArtifacts.subList(2, 3));
+    }
+
+    @Test
+    void testSaveAllReportsFailedChunk() {
+        ReflectionTestUtils.setField(artifactService, "batchChunkSize", 2);
+        List<Artifact> newArtifacts = List.of(
+                Artifact.builder().name("name 1").build(),
+                Artifact.builder().name("name 2").build(),
+                Artifact.builder().name("name 3").build());
+        given(idWorker.nextIds(3)).willReturn(new long[]{1L, 2L, 3L});
+        doThrow(new DataIntegrityViolationException("duplicate"))
+                .doNothing()
+                .when(transactionTemplate).executeWithoutResult(any());
+
+        List<ArtifactBatchItemResult> results = artifactService.saveAll(newArtifacts);
+
+        assertThat(results).extracting(ArtifactBatchItemResult::index).containsExactly(0, 1, 2);
+        assertThat(results).extracting(ArtifactBatchItemResult::status).containsExactly(
+                ArtifactBatchItemResult.Status.FAILED, ArtifactBatchItemResult.Status.FAILED, ArtifactBatchItemResult.Status.CREATED);
+        assertThat(results.get(0).errors()).containsExactly(Map.entry("batch", "not saved, its batch chunk failed."));
+    }
+
     @Test
     void testUpdateSuccess() {
         String artifactId = "1250808601744904191";
@@ -0,0 +1,89 @@
+package com.yvolabs.hogwartsartifactsapi.artifact;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yvolabs.hogwartsartifactsapi.system.sql.SlowQueryLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+/**
+ * @author Yvonne N
+ * The slow-query log (off by default) switched on, with every statement of the artifact endpoints slow enough to be listed.
+ */
+@SpringBootTest(properties = {
+        "api.slow-query.enabled=true",
+        "api.slow-query.threshold=0ms"
+})
+@AutoConfigureMockMvc
+@DisplayName("Slow-query log of Artifact endpoints")
+@Tag("Integration")
+@ActiveProfiles(value = "dev")
+class ArtifactSlowQueryIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Value("${api.endpoint.base-url}/artifacts")
+    String ARTIFACTS_PATH;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        slowQueryLog.clear();
+    }
+
+    @Test
+    void testSlowQueriesAreListedWithTheirRequestParametersAndPlan() throws Exception {
+        // every statement is slow with a 0ms threshold
+        String search = ARTIFACTS_PATH + "/search?size=1&sort=name,asc";
+        mockMvc.perform(post(search)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("description", "hogwarts")))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.totalElements").value(2));
+
+        // selects show up once explained, in the background
+        for (int i = 0; i < 100 && slowQueryLog.slowQueries().stream().noneMatch(slowQuery -> slowQuery.plan() != null); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(slowQueryLog.slowQueries())
+                .filteredOn(slowQuery -> slowQuery.sql().contains("artifact"))
+                .allSatisfy(slowQuery -> assertThat(slowQuery.request()).isEqualTo("POST " + search))
+                .anySatisfy(slowQuery -> {
+                    assertThat(slowQuery.parameters()).isNotEmpty();
+                    assertThat(slowQuery.rowCount()).isEqualTo(1);
+                    assertThat(slowQuery.plan()).isNotBlank();
+                });
+
+        mockMvc.perform(get("/actuator/slow-queries").with(jwt().authorities(new SimpleGrantedAuthority("ROLE_admin"))))
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.data[0].request").value("POST " + search))
+                .andExpect(jsonPath("$.data[0].elapsedMillis").isNumber());
+    }
+}
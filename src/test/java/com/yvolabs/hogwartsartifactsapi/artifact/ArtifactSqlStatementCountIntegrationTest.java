@@ -0,0 +1,206 @@
+package com.yvolabs.hogwartsartifactsapi.artifact;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hamcrest.Matchers;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+/**
+ * @author Yvonne N
+ * Guards against N+1 selects on the artifact read endpoints: the owner and the owner's number of artifacts
+ * must come with the artifacts, not with one select (or collection load) per owner.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "api.sql-budget.endpoints.[GET\\ /api/v1/artifacts/{artifactId}]=0"
+})
+@ExtendWith(OutputCaptureExtension.class)
+@AutoConfigureMockMvc
+@DisplayName("SQL statement count of Artifact read endpoints")
+@Tag("Integration")
+@ActiveProfiles(value = "dev")
+class ArtifactSqlStatementCountIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${api.endpoint.base-url}/artifacts")
+    String ARTIFACTS_PATH;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testFindAllIssuesOneStatement() throws Exception {
+        // 6 artifacts, 3 owners, the first page is not full so Spring Data skips the count query
+        mockMvc.perform(get(ARTIFACTS_PATH).accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(6)))
+                .andExpect(jsonPath("$.data.content[0].owner.numberOfArtifacts").value(2));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    @Test
+    void testRequestSqlStatisticsArePublished() throws Exception {
+        // 6 artifacts and their 3 owners hydrated by 1 statement
+        mockMvc.perform(get(ARTIFACTS_PATH).param("size", "6").accept(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("Server-Timing", "sql-statements;desc=\"2\", entity-loads;desc=\"0\", collection-loads;desc=\"0\""));
+        mockMvc.perform(post(ARTIFACTS_PATH + "/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("description", "a")))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("Server-Timing", "sql-statements;desc=\"1\", entity-loads;desc=\"0\", collection-loads;desc=\"0\""));
+
+        DistributionSummary statements = meterRegistry.get("http.server.requests.sql.statements")
+                .tags("method", "POST", "uri", "/api/v1/artifacts/search")
+                .summary();
+        assertThat(statements.count()).isPositive();
+        assertThat(statements.max()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Nested
+    @TestPropertySource(properties = "api.sql-statistics.server-timing=false")
+    @DisplayName("without the Server-Timing header")
+    class WithoutServerTiming {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @Test
+        void testRequestSqlStatisticsArePublishedWithoutTheHeader() throws Exception {
+            mockMvc.perform(get(ARTIFACTS_PATH).param("size", "6").accept(MediaType.APPLICATION_JSON))
+                    .andExpect(header().doesNotExist("Server-Timing"));
+
+            DistributionSummary statements = meterRegistry.get("http.server.requests.sql.statements")
+                    .tags("method", "GET", "uri", "/api/v1/artifacts")
+                    .summary();
+            assertThat(statements.count()).isPositive();
+            assertThat(statements.max()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void testStatementsOverBudgetAreLogged(CapturedOutput output) throws Exception {
+        mockMvc.perform(get(ARTIFACTS_PATH + "/1250808601744904191").accept(MediaType.APPLICATION_JSON));
+
+        assertThat(output).contains("Possible N+1: GET /api/v1/artifacts/{artifactId} issued 1 SQL statements (budget 0)");
+    }
+
+    @Test
+    void testFindAllWithPagingIssuesSelectAndCount() throws Exception {
+        mockMvc.perform(get(ARTIFACTS_PATH).param("page", "0").param("size", "2").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(2)));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    @Test
+    void testFindAllByCursorAndWithoutCountIssueOneStatement() throws Exception {
+        mockMvc.perform(get(ARTIFACTS_PATH).param("cursor", "").param("size", "2").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(2)));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        mockMvc.perform(get(ARTIFACTS_PATH).param("count", "none").param("size", "2").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(2)));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    @Test
+    void testSearchIssuesOneStatement() throws Exception {
+        mockMvc.perform(post(ARTIFACTS_PATH + "/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("description", "a")))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(6)));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    @Test
+    void testRepeatedSearchOnlySelectsTheCachedIds() throws Exception {
+        String searchCriteria = objectMapper.writeValueAsString(Map.of("description", "hogwarts"));
+        mockMvc.perform(post(ARTIFACTS_PATH + "/search").param("size", "1").param("sort", "name,asc")
+                        .contentType(MediaType.APPLICATION_JSON).content(searchCriteria).accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.content[0].name").value("The Marauder's Map"))
+                .andExpect(jsonPath("$.data.totalElements").value(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        // same criteria (different case) and page: no count, no criteria, one select by id
+        statistics.clear();
+        mockMvc.perform(post(ARTIFACTS_PATH + "/search").param("size", "1").param("sort", "name,asc")
+                        .contentType(MediaType.APPLICATION_JSON).content(searchCriteria.replace("hogwarts", "Hogwarts")).accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.content[0].name").value("The Marauder's Map"))
+                .andExpect(jsonPath("$.data.content[0].owner.numberOfArtifacts").value(2))
+                .andExpect(jsonPath("$.data.totalElements").value(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    @Test
+    void testFindByIdIssuesOneStatementThenHitsTheCache() throws Exception {
+        mockMvc.perform(get(ARTIFACTS_PATH + "/1250808601744904191").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.owner.numberOfArtifacts").value(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        statistics.clear();
+        mockMvc.perform(get(ARTIFACTS_PATH + "/1250808601744904191").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.owner.numberOfArtifacts").value(2));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,107 @@
+package com.yvolabs.hogwartsartifactsapi.artifact;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * @author Yvonne N
+ */
+@ExtendWith(MockitoExtension.class)
+class ArtifactTrigramIndexTest {
+    @Mock
+    ArtifactRepository artifactRepository;
+
+    @InjectMocks
+    ArtifactTrigramIndex artifactTrigramIndex;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(artifactTrigramIndex, "maxCandidates", 2);
+        given(artifactRepository.streamAll(null)).willAnswer(invocation -> Stream.of(
+                artifact("1", "Deluminator", "A device to capture light"),
+                artifact("2", "Invisibility Cloak", "Makes the wearer invisible"),
+                artifact("3", "Elder Wand", "The most powerful wand"),
+                artifact("4", "Resurrection Stone", "Brings back the dead")));
+        artifactTrigramIndex.rebuild();
+    }
+
+    @Test
+    void testFindIdsByNameContaining() {
+        assertThat(artifactTrigramIndex.isReady()).isTrue();
+        assertThat(artifactTrigramIndex.findIdsByNameContaining("WAND")).contains(Set.of("3"));
+        assertThat(artifactTrigramIndex.findIdsByNameContaining("cloaks")).contains(Set.of());
+        assertThat(artifactTrigramIndex.findIdsByDescriptionContaining("back")).contains(Set.of("4"));
+    }
+
+    @Test
+    void testWildcardsHaveLikeSemantics() {
+        // % any run of characters, _ any single one, as in lower(name) like '%query%'
+        assertThat(artifactTrigramIndex.findIdsByNameContaining("elder%wand")).contains(Set.of("3"));
+        assertThat(artifactTrigramIndex.findIdsByNameContaining("el_er")).contains(Set.of("3"));
+        assertThat(artifactTrigramIndex.findIdsByDescriptionContaining("wear%vis")).contains(Set.of("2"));
+        assertThat(artifactTrigramIndex.findIdsByNameContaining("wand%elder")).contains(Set.of());
+        // escaped, a literal underscore
+        assertThat(artifactTrigramIndex.findIdsByNameContaining("el\\_er")).contains(Set.of());
+    }
+
+    @Test
+    void testMoreMatchesThanMaxCandidatesGivesUp() {
+        ReflectionTestUtils.setField(artifactTrigramIndex, "maxCandidates", 1);
+
+        // no trigram in a 2 character fragment, every text is checked
+        assertThat(artifactTrigramIndex.findIdsByNameContaining("in")).isEmpty();
+        assertThat(artifactTrigramIndex.findIdsByNameContaining("vi")).contains(Set.of("2"));
+    }
+
+    @Test
+    void testIndexAfterCommitWithoutTransactionAppliesRightAway() {
+        artifactTrigramIndex.indexAfterCommit(artifact("5", "Time-Turner", "Travel back in time"));
+        artifactTrigramIndex.removeAfterCommit("3");
+
+        assertThat(artifactTrigramIndex.findIdsByNameContaining("turner")).contains(Set.of("5"));
+        assertThat(artifactTrigramIndex.findIdsByNameContaining("wand")).contains(Set.of());
+    }
+
+    @Test
+    void testRebuildReplacesTheIndex() {
+        given(artifactRepository.streamAll(null)).willAnswer(invocation -> Stream.of(artifact("6", "Sword of Gryffindor", "A goblin-made sword")));
+
+        artifactTrigramIndex.rebuild();
+
+        assertThat(artifactTrigramIndex.findIdsByNameContaining("wand")).contains(Set.of());
+        assertThat(artifactTrigramIndex.findIdsByNameContaining("sword")).contains(Set.of("6"));
+    }
+
+    @Test
+    void testWritesDuringRebuildAreAppliedToTheRebuiltIndex() {
+        given(artifactRepository.streamAll(null)).willAnswer(invocation -> {
+            // committed while the table is being streamed
+            artifactTrigramIndex.indexAfterCommit(artifact("7", "Time-Turner", "Travel back in time"));
+            return Stream.of(artifact("6", "Sword of Gryffindor", "A goblin-made sword"));
+        });
+
+        artifactTrigramIndex.rebuild();
+
+        assertThat(artifactTrigramIndex.findIdsByNameContaining("turner")).contains(Set.of("7"));
+        assertThat(artifactTrigramIndex.findIdsByNameContaining("sword")).contains(Set.of("6"));
+    }
+
+    private static Artifact artifact(String id, String name, String description) {
+        Artifact artifact = new Artifact();
+        artifact.setId(id);
+        artifact.setName(name);
+        artifact.setDescription(description);
+        return artifact;
+    }
+}
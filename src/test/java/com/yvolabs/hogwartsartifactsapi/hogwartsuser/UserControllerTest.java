@@ -57,7 +57,10 @@ class UserControllerTest {
 
     @Test
     void testFindAllUsersSuccess() throws Exception {
-        given(userService.findAll()).willReturn(userList);
+        List<UserDto> userDtos = userList.stream()
+                .map(user -> new UserDto(user.getId(), user.getUsername(), user.isEnabled(), user.getRoles()))
+                .toList();
+        given(userService.findAllDtos()).willReturn(userDtos);
 
         mockMvc.perform(get(PATH).accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
@@ -66,7 +69,7 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.code").value(StatusCode.SUCCESS))
                 .andExpect(jsonPath("$.message").value("Find All Success"))
                 .andExpect(jsonPath("$.data", Matchers.hasSize(userList.size())));
-        verify(userService).findAll();
+        verify(userService).findAllDtos();
     }
 
     @Test
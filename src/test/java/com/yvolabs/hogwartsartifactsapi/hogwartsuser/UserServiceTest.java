@@ -1,5 +1,6 @@
 package com.yvolabs.hogwartsartifactsapi.hogwartsuser;
 
+import com.yvolabs.hogwartsartifactsapi.security.VerifiedCredentialCache;
 import com.yvolabs.hogwartsartifactsapi.system.exception.ObjectNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,6 +32,9 @@ class UserServiceTest {
     @Mock
     PasswordEncoder passwordEncoder;
 
+    @Mock
+    VerifiedCredentialCache verifiedCredentialCache;
+
     @InjectMocks
     UserServiceImpl userService;
 
@@ -71,6 +75,7 @@ class UserServiceTest {
         assertThat(savedUser.isEnabled()).isEqualTo(true);
         assertThat(savedUser.getRoles()).isEqualTo("admin newUser");
         verify(userRepository).save(newUser);
+        verify(verifiedCredentialCache).invalidate("some username");
     }
 
     @Test
@@ -125,6 +130,8 @@ class UserServiceTest {
         assertThat(updatedUser.isEnabled()).isEqualTo(true);
         assertThat(updatedUser.getRoles()).isEqualTo("user");
         verify(userRepository).findById(userId);
+        verify(verifiedCredentialCache).invalidate("john");
+        verify(verifiedCredentialCache).invalidate("john update");
     }
 
     @Test
@@ -154,6 +161,7 @@ class UserServiceTest {
         userService.delete(userId);
 
         verify(userRepository).deleteById(userId);
+        verify(verifiedCredentialCache).invalidate("john");
 
     }
 
@@ -169,6 +177,7 @@ class UserServiceTest {
                 .hasMessageContaining("Could not find user with Id 1");
         verify(userRepository).findById(userId);
         verify(userRepository, times(0)).deleteById(userId);
+        verifyNoInteractions(verifiedCredentialCache);
 
     }
 
@@ -2,20 +2,33 @@ package com.yvolabs.hogwartsartifactsapi.security;
 
 
 import com.yvolabs.hogwartsartifactsapi.system.StatusCode;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
  * @author Yvonne N
@@ -79,4 +92,77 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.message").value("Login credentials are missing"))
                 .andExpect(jsonPath("$.data").value("Full authentication is required to access this resource"));
     }
-}
\ No newline at end of file
+
+    @Nested
+    @TestPropertySource(properties = "spring.main.allow-bean-definition-overriding=true")
+    class WhenPasswordHashingIsSaturated {
+        static final String BLOCKING_PASSWORD = "blocks-the-pool";
+        static final CountDownLatch started = new CountDownLatch(1);
+        static final CountDownLatch release = new CountDownLatch(1);
+
+        // this context's, not the enclosing one's
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private BoundedPasswordEncoder passwordEncoder;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @Test
+        void testGetLoginInfoIsRejectedWithTooManyRequests() throws Exception {
+            // one hash blocked on the single thread, then one queued behind it
+            CompletableFuture<?> blocked = CompletableFuture.runAsync(() -> passwordEncoder.encode(BLOCKING_PASSWORD));
+            CompletableFuture<?> queued = null;
+            try {
+                assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+                queued = CompletableFuture.runAsync(() -> passwordEncoder.encode(BLOCKING_PASSWORD));
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (queuedHashes() < 1 && System.nanoTime() < deadline) {
+                    Thread.sleep(5);
+                }
+                assertThat(queuedHashes()).isEqualTo(1);
+
+                mockMvc.perform(post(PATH + "/login")
+                                .with(httpBasic("john", "123456")))
+                        .andExpect(status().isTooManyRequests())
+                        .andExpect(header().doesNotExist("WWW-Authenticate"))
+                        .andExpect(jsonPath("$.flag").value(false))
+                        .andExpect(jsonPath("$.code").value(StatusCode.TOO_MANY_REQUESTS))
+                        .andExpect(jsonPath("$.message").value("Too many password checks in progress, try again later"));
+            } finally {
+                release.countDown();
+            }
+            blocked.join();
+            queued.join();
+        }
+
+        private double queuedHashes() {
+            return meterRegistry.get("executor.queued").tag("name", "password.hashing").gauge().value();
+        }
+
+        // replaces SecurityConfiguration's: one thread, one queued hash, BLOCKING_PASSWORD holds the thread until released
+        @TestConfiguration
+        static class BlockingPasswordHashingConfiguration {
+
+            @Bean
+            public BoundedPasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+                return new BoundedPasswordEncoder(new BCryptPasswordEncoder(4) {
+                    @Override
+                    public String encode(CharSequence rawPassword) {
+                        if (BLOCKING_PASSWORD.contentEquals(rawPassword)) {
+                            started.countDown();
+                            try {
+                                release.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }
+                        return super.encode(rawPassword);
+                    }
+                }, 1, 1, meterRegistry);
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.yvolabs.hogwartsartifactsapi.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * @author Yvonne N
+ */
+class BoundedPasswordEncoderTest {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService callers = Executors.newFixedThreadPool(2);
+    BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    @Test
+    void testEncodeAndMatchesRunOnThePasswordHashingPool() {
+        encoder = new BoundedPasswordEncoder(new ThreadNamePasswordEncoder(), 1, 1, meterRegistry);
+
+        assertThat(encoder.encode("123456")).startsWith("password-hashing-1:");
+        assertThat(encoder.matches("123456", "123456")).isTrue();
+        assertThat(encoder.matches("123456", "654321")).isFalse();
+        assertThat(meterRegistry.get("executor.pool.max").tag("name", "password.hashing").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void testFullQueueRejectsRightAway() throws InterruptedException {
+        encoder = new BoundedPasswordEncoder(new BlockingPasswordEncoder(), 1, 1, meterRegistry);
+        // one hashing, one queued
+        callers.submit(() -> encoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        callers.submit(() -> encoder.encode("second"));
+        waitForQueued(1);
+
+        Throwable throwable = catchThrowable(() -> encoder.matches("third", "third"));
+
+        assertThat(throwable)
+                .isInstanceOf(PasswordHashingRejectedException.class)
+                .hasMessageContaining("1 queued");
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testNoQueueRejectsOnceEveryThreadIsBusy() throws InterruptedException {
+        encoder = new BoundedPasswordEncoder(new BlockingPasswordEncoder(), 1, 0, meterRegistry);
+        callers.submit(() -> encoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Throwable throwable = catchThrowable(() -> encoder.matches("second", "second"));
+
+        assertThat(throwable)
+                .isInstanceOf(PasswordHashingRejectedException.class)
+                .hasMessageContaining("0 queued");
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testNegativeQueueCapacityIsRefused() {
+        Throwable throwable = catchThrowable(() -> new BoundedPasswordEncoder(new ThreadNamePasswordEncoder(), 1, -1, meterRegistry));
+
+        assertThat(throwable)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("api.security.password-hashing.queue-capacity must be 0 (no queue) or more, was -1");
+    }
+
+    @Test
+    void testDelegateExceptionReachesTheCaller() {
+        encoder = new BoundedPasswordEncoder(new ThreadNamePasswordEncoder(), 1, 1, meterRegistry);
+
+        Throwable throwable = catchThrowable(() -> encoder.encode(null));
+
+        assertThat(throwable)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("rawPassword cannot be null");
+    }
+
+    private void waitForQueued(int queued) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("executor.queued").tag("name", "password.hashing").gauge().value() < queued && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static class ThreadNamePasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if (rawPassword == null) {
+                throw new IllegalArgumentException("rawPassword cannot be null");
+            }
+            return Thread.currentThread().getName() + ":" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+
+    private class BlockingPasswordEncoder extends ThreadNamePasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.encode(rawPassword);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.yvolabs.hogwartsartifactsapi.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Yvonne N
+ */
+@ExtendWith(MockitoExtension.class)
+class CachingDaoAuthenticationProviderTest {
+    @Mock
+    UserDetailsService userDetailsService;
+
+    @Mock
+    PasswordEncoder passwordEncoder;
+
+    VerifiedCredentialCache verifiedCredentialCache;
+
+    CachingDaoAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        given(userDetailsService.loadUserByUsername("john")).willAnswer(invocation -> user("encoded-123456"));
+        given(passwordEncoder.matches("123456", "encoded-123456")).willReturn(true);
+        verifiedCredentialCache = new VerifiedCredentialCache(new SimpleMeterRegistry(), true, Duration.ofMinutes(5), 100);
+        provider = new CachingDaoAuthenticationProvider(userDetailsService, passwordEncoder, verifiedCredentialCache);
+    }
+
+    @Test
+    void testRepeatedLoginSkipsThePasswordEncoder() {
+        Authentication first = provider.authenticate(login("123456"));
+        Authentication second = provider.authenticate(login("123456"));
+
+        assertThat(first.isAuthenticated()).isTrue();
+        assertThat(second.isAuthenticated()).isTrue();
+        assertThat(second.getAuthorities()).extracting("authority").containsExactly("ROLE_admin");
+        verify(passwordEncoder, times(1)).matches("123456", "encoded-123456");
+        verify(userDetailsService, times(2)).loadUserByUsername("john");
+    }
+
+    @Test
+    void testWrongPasswordAfterVerifiedLoginIsChecked() {
+        given(passwordEncoder.matches("wrong", "encoded-123456")).willReturn(false);
+        provider.authenticate(login("123456"));
+
+        Throwable throwable = catchThrowable(() -> provider.authenticate(login("wrong")));
+
+        assertThat(throwable).isInstanceOf(BadCredentialsException.class);
+        verify(passwordEncoder).matches("wrong", "encoded-123456");
+    }
+
+    @Test
+    void testChangedPasswordHashIsCheckedAgain() {
+        provider.authenticate(login("123456"));
+        given(userDetailsService.loadUserByUsername("john")).willAnswer(invocation -> user("encoded-654321"));
+
+        Throwable throwable = catchThrowable(() -> provider.authenticate(login("123456")));
+
+        assertThat(throwable).isInstanceOf(BadCredentialsException.class);
+        verify(passwordEncoder).matches("123456", "encoded-654321");
+    }
+
+    @Test
+    void testInvalidatedLoginIsCheckedAgain() {
+        provider.authenticate(login("123456"));
+        verifiedCredentialCache.invalidate("john");
+
+        provider.authenticate(login("123456"));
+
+        verify(passwordEncoder, times(2)).matches("123456", "encoded-123456");
+    }
+
+    @Test
+    void testDisabledCacheChecksEveryLogin() {
+        provider = new CachingDaoAuthenticationProvider(userDetailsService, passwordEncoder,
+                new VerifiedCredentialCache(new SimpleMeterRegistry(), false, Duration.ofMinutes(5), 100));
+
+        provider.authenticate(login("123456"));
+        provider.authenticate(login("123456"));
+
+        verify(passwordEncoder, times(2)).matches("123456", "encoded-123456");
+    }
+
+    private static UsernamePasswordAuthenticationToken login(String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated("john", password);
+    }
+
+    private static User user(String encodedPassword) {
+        return new User("john", encodedPassword, true, true, true, true, List.of(() -> "ROLE_admin"));
+    }
+}
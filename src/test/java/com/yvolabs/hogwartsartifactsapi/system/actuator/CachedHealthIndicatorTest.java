@@ -0,0 +1,64 @@
+package com.yvolabs.hogwartsartifactsapi.system.actuator;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Yvonne N
+ */
+class CachedHealthIndicatorTest {
+
+    @Test
+    void testHealthIsTheLastCheckResult() {
+        AtomicInteger checks = new AtomicInteger();
+        CachedHealthIndicator healthIndicator = new CachedHealthIndicator() {
+            @Override
+            protected Health.Builder check() {
+                return Health.up().withDetail("check", checks.incrementAndGet());
+            }
+        };
+
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UNKNOWN);
+
+        healthIndicator.refresh();
+        healthIndicator.health();
+        Health health = healthIndicator.health();
+
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails()).containsEntry("check", 1).containsKey("checkedAt");
+        assertThat(checks).hasValue(1);
+    }
+
+    @Test
+    void testFailedCheckIsDown() {
+        CachedHealthIndicator healthIndicator = new CachedHealthIndicator() {
+            @Override
+            protected Health.Builder check() {
+                throw new IllegalStateException("Pool closed");
+            }
+        };
+
+        healthIndicator.refresh();
+
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.DOWN);
+        assertThat(healthIndicator.health().getDetails()).containsEntry("error", "java.lang.IllegalStateException: Pool closed");
+    }
+
+    @Test
+    void testHeapOverRatioIsOutOfService() {
+        HeapHealthIndicator healthy = new HeapHealthIndicator(1.0);
+        HeapHealthIndicator overloaded = new HeapHealthIndicator(-1.0);
+
+        healthy.refresh();
+        overloaded.refresh();
+
+        assertThat(healthy.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(overloaded.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        assertThat(overloaded.health().getDetails()).containsKeys("pool", "usedAfterGc", "max", "ratio");
+    }
+}
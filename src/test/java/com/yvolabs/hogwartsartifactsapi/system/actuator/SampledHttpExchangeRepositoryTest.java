@@ -0,0 +1,114 @@
+package com.yvolabs.hogwartsartifactsapi.system.actuator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.web.exchanges.HttpExchange;
+import org.springframework.boot.actuate.web.exchanges.Include;
+import org.springframework.boot.actuate.web.exchanges.RecordableHttpRequest;
+import org.springframework.boot.actuate.web.exchanges.RecordableHttpResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Yvonne N
+ */
+class SampledHttpExchangeRepositoryTest {
+    private static final Instant NOW = Instant.parse("2024-05-01T10:00:00Z");
+
+    @Test
+    void testFindAllKeepsTheNewestExchangesNewestFirst() {
+        SampledHttpExchangeRepository repository = new SampledHttpExchangeRepository(properties(1.0, disabledSpill()));
+
+        IntStream.range(0, 10).forEach(i -> repository.add(exchange("/api/v1/artifacts/" + i, i, Duration.ofMillis(5))));
+
+        // capacity 4
+        assertThat(repository.findAll()).extracting(exchange -> exchange.getRequest().getUri().getPath())
+                .containsExactly("/api/v1/artifacts/9", "/api/v1/artifacts/8", "/api/v1/artifacts/7", "/api/v1/artifacts/6");
+    }
+
+    @Test
+    void testSlowExchangesAreAlwaysKept() {
+        SampledHttpExchangeRepository repository = new SampledHttpExchangeRepository(properties(0.0, disabledSpill()));
+
+        repository.add(exchange("/api/v1/artifacts/slow", 0, Duration.ofSeconds(2)));
+        // not sampled, and would have pushed the slow one out of a shared ring
+        IntStream.range(1, 100).forEach(i -> repository.add(exchange("/api/v1/artifacts/" + i, i, Duration.ofMillis(5))));
+
+        assertThat(repository.findAll()).extracting(exchange -> exchange.getRequest().getUri().getPath())
+                .containsExactly("/api/v1/artifacts/slow");
+    }
+
+    @Test
+    void testPushedOutExchangesAreSpilledToFile(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("httpexchanges.log");
+        SampledHttpExchangeRepository repository = new SampledHttpExchangeRepository(
+                properties(1.0, new HttpExchangesProperties.Spill(true, file.toString(), DataSize.ofMegabytes(1), 100)));
+
+        IntStream.range(0, 6).forEach(i -> repository.add(exchange("/api/v1/artifacts/" + i, i, Duration.ofMillis(5))));
+        repository.close();
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).containsExactly(
+                "2024-05-01T10:00:00Z\tGET\thttp://localhost/api/v1/artifacts/0\t200\t5\t-\t-",
+                "2024-05-01T10:00:01Z\tGET\thttp://localhost/api/v1/artifacts/1\t200\t5\t-\t-");
+    }
+
+    private static HttpExchangesProperties properties(double sampleRate, HttpExchangesProperties.Spill spill) {
+        return new HttpExchangesProperties(4, 2, sampleRate, Duration.ofMillis(500), spill);
+    }
+
+    private static HttpExchangesProperties.Spill disabledSpill() {
+        return new HttpExchangesProperties.Spill(false, "unused", DataSize.ofMegabytes(1), 100);
+    }
+
+    private static HttpExchange exchange(String path, int second, Duration timeTaken) {
+        Instant start = NOW.plusSeconds(second);
+        RecordableHttpRequest request = new RecordableHttpRequest() {
+            @Override
+            public URI getUri() {
+                return URI.create("http://localhost" + path);
+            }
+
+            @Override
+            public String getRemoteAddress() {
+                return null;
+            }
+
+            @Override
+            public String getMethod() {
+                return "GET";
+            }
+
+            @Override
+            public Map<String, List<String>> getHeaders() {
+                return Map.of();
+            }
+        };
+        RecordableHttpResponse response = new RecordableHttpResponse() {
+            @Override
+            public int getStatus() {
+                return 200;
+            }
+
+            @Override
+            public Map<String, List<String>> getHeaders() {
+                return Map.of();
+            }
+        };
+
+        return HttpExchange.start(Clock.fixed(start, ZoneOffset.UTC), request)
+                .finish(Clock.fixed(start.plus(timeTaken), ZoneOffset.UTC), response, () -> null, () -> null, Include.TIME_TAKEN);
+    }
+}
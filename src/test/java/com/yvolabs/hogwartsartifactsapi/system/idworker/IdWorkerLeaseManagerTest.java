@@ -0,0 +1,151 @@
+package com.yvolabs.hogwartsartifactsapi.system.idworker;
+
+import com.yvolabs.hogwartsartifactsapi.utils.IdWorker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Yvonne N
+ */
+@ExtendWith(MockitoExtension.class)
+class IdWorkerLeaseManagerTest {
+    @Mock
+    private IdWorkerLeaseRepository idWorkerLeaseRepository;
+
+    @Test
+    void testAcquireLeasesTheConfiguredIdsWhenFree() {
+        given(idWorkerLeaseRepository.takeOverExpired(eq(33), anyString(), any(), any())).willReturn(0);
+        given(idWorkerLeaseRepository.insert(eq(33), anyString(), any())).willReturn(1);
+        IdWorkerLeaseManager idWorkerLeaseManager = new IdWorkerLeaseManager(idWorkerLeaseRepository, properties(true));
+
+        int workerKey = idWorkerLeaseManager.acquire();
+
+        // datacenter 1, worker 1
+        assertThat(workerKey).isEqualTo(33);
+        assertThat(idWorkerLeaseManager.isValid()).isTrue();
+    }
+
+    @Test
+    void testAcquireSkipsTheLeasesHeldByOtherInstances() {
+        given(idWorkerLeaseRepository.takeOverExpired(anyInt(), anyString(), any(), any())).willReturn(0);
+        given(idWorkerLeaseRepository.insert(anyInt(), anyString(), any())).willThrow(new DataIntegrityViolationException("duplicate key"));
+        // 35 expired, taken over
+        given(idWorkerLeaseRepository.takeOverExpired(eq(35), anyString(), any(), any())).willReturn(1);
+        IdWorkerLeaseManager idWorkerLeaseManager = new IdWorkerLeaseManager(idWorkerLeaseRepository, properties(true));
+
+        assertThat(idWorkerLeaseManager.acquire()).isEqualTo(35);
+        verify(idWorkerLeaseRepository, never()).insert(eq(35), anyString(), any());
+    }
+
+    @Test
+    void testAcquireFailsWhenEveryLeaseIsHeld() {
+        given(idWorkerLeaseRepository.takeOverExpired(anyInt(), anyString(), any(), any())).willReturn(0);
+        given(idWorkerLeaseRepository.insert(anyInt(), anyString(), any())).willThrow(new DataIntegrityViolationException("duplicate key"));
+        IdWorkerLeaseManager idWorkerLeaseManager = new IdWorkerLeaseManager(idWorkerLeaseRepository, properties(true));
+
+        Throwable throwable = catchThrowable(idWorkerLeaseManager::acquire);
+
+        assertThat(throwable).isInstanceOf(IllegalStateException.class)
+                .hasMessage("All 1024 IdWorker leases are held by other instances");
+    }
+
+    @Test
+    void testLeaseTakenOverIsNoLongerValidNorReleased() {
+        given(idWorkerLeaseRepository.takeOverExpired(eq(33), anyString(), any(), any())).willReturn(1);
+        given(idWorkerLeaseRepository.renew(eq(33), anyString(), any())).willReturn(1, 0);
+        IdWorkerLeaseManager idWorkerLeaseManager = new IdWorkerLeaseManager(idWorkerLeaseRepository, properties(true));
+        idWorkerLeaseManager.acquire();
+
+        idWorkerLeaseManager.renew();
+        assertThat(idWorkerLeaseManager.isValid()).isTrue();
+
+        idWorkerLeaseManager.renew();
+        assertThat(idWorkerLeaseManager.isValid()).isFalse();
+
+        idWorkerLeaseManager.release();
+        verify(idWorkerLeaseRepository, never()).release(anyInt(), anyString());
+    }
+
+    @Test
+    void testLeaseRowGoneIsInsertedAgain() {
+        given(idWorkerLeaseRepository.takeOverExpired(eq(33), anyString(), any(), any())).willReturn(1);
+        given(idWorkerLeaseRepository.renew(eq(33), anyString(), any())).willReturn(0);
+        given(idWorkerLeaseRepository.insert(eq(33), anyString(), any())).willReturn(1);
+        IdWorkerLeaseManager idWorkerLeaseManager = new IdWorkerLeaseManager(idWorkerLeaseRepository, properties(true));
+        idWorkerLeaseManager.acquire();
+
+        idWorkerLeaseManager.renew();
+
+        assertThat(idWorkerLeaseManager.isValid()).isTrue();
+        verify(idWorkerLeaseRepository).insert(eq(33), anyString(), any());
+        idWorkerLeaseManager.release();
+    }
+
+    @Test
+    void testLeaseTakenOverStopsTheIdWorker() {
+        given(idWorkerLeaseRepository.takeOverExpired(eq(33), anyString(), any(), any())).willReturn(1);
+        given(idWorkerLeaseRepository.renew(eq(33), anyString(), any())).willReturn(1, 0);
+        IdWorkerLeaseManager idWorkerLeaseManager = new IdWorkerLeaseManager(idWorkerLeaseRepository, properties(true));
+        int workerKey = idWorkerLeaseManager.acquire();
+        IdWorker idWorker = new IdWorker(workerKey % 32, workerKey / 32);
+        idWorkerLeaseManager.guard(idWorker);
+
+        idWorkerLeaseManager.renew();
+        assertThat(idWorker.nextId()).isPositive();
+
+        idWorkerLeaseManager.renew();
+        Throwable throwable = catchThrowable(idWorker::nextId);
+
+        assertThat(throwable).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("datacenter 1 worker 1 expired");
+        idWorkerLeaseManager.release();
+    }
+
+    @Test
+    void testReleaseDeletesTheLease() {
+        given(idWorkerLeaseRepository.takeOverExpired(eq(33), anyString(), any(), any())).willReturn(1);
+        IdWorkerLeaseManager idWorkerLeaseManager = new IdWorkerLeaseManager(idWorkerLeaseRepository, properties(true));
+        idWorkerLeaseManager.acquire();
+
+        idWorkerLeaseManager.release();
+
+        verify(idWorkerLeaseRepository).release(eq(33), anyString());
+    }
+
+    @Test
+    void testWithoutLeaseTheConfiguredIdsAreUsed() {
+        IdWorkerLeaseManager idWorkerLeaseManager = new IdWorkerLeaseManager(idWorkerLeaseRepository, properties(false));
+
+        assertThat(idWorkerLeaseManager.acquire()).isEqualTo(33);
+        idWorkerLeaseManager.renew();
+        idWorkerLeaseManager.release();
+
+        verifyNoInteractions(idWorkerLeaseRepository);
+        assertThat(idWorkerLeaseManager.isValid()).isTrue();
+    }
+
+    @Test
+    void testWithoutLeaseTheIdWorkerNeverExpires() {
+        IdWorkerLeaseManager idWorkerLeaseManager = new IdWorkerLeaseManager(idWorkerLeaseRepository, properties(false));
+        IdWorker idWorker = new IdWorker(1, 1);
+
+        idWorkerLeaseManager.guard(idWorker);
+
+        assertThat(idWorker.nextId()).isPositive();
+    }
+
+    private static IdWorkerProperties properties(boolean leased) {
+        return new IdWorkerProperties(IdWorker.ClockMode.MONOTONIC, 1, 1, new IdWorkerProperties.Lease(leased, Duration.ofSeconds(60), Duration.ofSeconds(20)));
+    }
+}
@@ -0,0 +1,141 @@
+package com.yvolabs.hogwartsartifactsapi.system.sql;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Yvonne N
+ */
+class SlowQueryDataSourceProxyTest {
+    private JdbcDataSource h2;
+    private Connection keepAlive;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + UUID.randomUUID());
+        keepAlive = h2.getConnection();
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("create table artifact (id varchar(32) primary key, name varchar(255), owner_id integer)");
+            statement.execute("insert into artifact values ('1', 'Deluminator', 1), ('2', 'Invisibility Cloak', 2), ('3', 'Elder Wand', 1)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        keepAlive.close();
+    }
+
+    @Test
+    void testSlowQueriesAreLoggedWithParametersRowCountAndPlan() throws Exception {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(properties(Duration.ZERO, true));
+        DataSource dataSource = SlowQueryDataSourceProxy.wrap(h2, slowQueryLog);
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select id, name from artifact where owner_id = ? and name like ?")) {
+            statement.setInt(1, 1);
+            statement.setString(2, "%e%");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    assertThat(resultSet.getString("name")).isNotBlank();
+                }
+            }
+        }
+
+        List<SlowQuery> slowQueries = awaitSlowQueries(slowQueryLog, 1);
+        assertThat(slowQueries).hasSize(1);
+        SlowQuery slowQuery = slowQueries.get(0);
+        assertThat(slowQuery.sql()).isEqualTo("select id, name from artifact where owner_id = ? and name like ?");
+        assertThat(slowQuery.parameters()).containsExactly("1", "%e%");
+        assertThat(slowQuery.rowCount()).isEqualTo(2);
+        assertThat(slowQuery.request()).isNull();
+        assertThat(slowQuery.plan()).containsIgnoringCase("artifact");
+        slowQueryLog.close();
+    }
+
+    @Test
+    void testUpdatesAreLoggedWithoutPlanAndFastStatementsAreNot() throws Exception {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(properties(Duration.ZERO, true));
+        DataSource dataSource = SlowQueryDataSourceProxy.wrap(h2, slowQueryLog);
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("update artifact set owner_id = ? where owner_id = ?")) {
+            statement.setNull(1, Types.INTEGER);
+            statement.setInt(2, 1);
+            assertThat(statement.executeUpdate()).isEqualTo(2);
+        }
+
+        assertThat(slowQueryLog.slowQueries()).singleElement().satisfies(slowQuery -> {
+            assertThat(slowQuery.parameters()).containsExactly("null", "1");
+            assertThat(slowQuery.rowCount()).isEqualTo(2);
+            assertThat(slowQuery.plan()).isNull();
+        });
+
+        SlowQueryLog thresholdLog = new SlowQueryLog(properties(Duration.ofMinutes(1), true));
+        try (Connection connection = SlowQueryDataSourceProxy.wrap(h2, thresholdLog).getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select count(*) from artifact")) {
+            assertThat(resultSet.next()).isTrue();
+        }
+        assertThat(thresholdLog.slowQueries()).isEmpty();
+        slowQueryLog.close();
+        thresholdLog.close();
+    }
+
+    @Test
+    void testOnlyTheMostRecentSlowQueriesAreKept() throws Exception {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(new SlowQueryProperties(true, Duration.ZERO, 2, false, 1));
+        DataSource dataSource = SlowQueryDataSourceProxy.wrap(h2, slowQueryLog);
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select name from artifact where id = ?")) {
+            for (String id : List.of("1", "2", "3")) {
+                statement.setString(1, id);
+                // result set left open, closing the statement ends the query
+                statement.executeQuery().next();
+            }
+        }
+
+        assertThat(slowQueryLog.slowQueries()).extracting(SlowQuery::parameters)
+                .containsExactly(List.of("3"), List.of("2"));
+        assertThat(slowQueryLog.slowQueries()).extracting(SlowQuery::rowCount).containsOnly(1L);
+    }
+
+    @Test
+    void testThePoolIsStillFoundBehindTheProxy() throws Exception {
+        try (HikariDataSource hikariDataSource = new HikariDataSource()) {
+            hikariDataSource.setDataSource(h2);
+            DataSource dataSource = SlowQueryDataSourceProxy.wrap(hikariDataSource, new SlowQueryLog(properties(Duration.ZERO, false)));
+
+            assertThat(dataSource.isWrapperFor(HikariDataSource.class)).isTrue();
+            assertThat(dataSource.unwrap(HikariDataSource.class)).isSameAs(hikariDataSource);
+        }
+    }
+
+    private static SlowQueryProperties properties(Duration threshold, boolean explain) {
+        return new SlowQueryProperties(true, threshold, 10, explain, 10);
+    }
+
+    // a slow select shows up once explained, in the background
+    private static List<SlowQuery> awaitSlowQueries(SlowQueryLog slowQueryLog, int count) throws InterruptedException {
+        for (int i = 0; i < 100 && slowQueryLog.slowQueries().size() < count; i++) {
+            Thread.sleep(50);
+        }
+        return slowQueryLog.slowQueries();
+    }
+}
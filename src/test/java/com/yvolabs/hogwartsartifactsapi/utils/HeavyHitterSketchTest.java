@@ -0,0 +1,63 @@
+package com.yvolabs.hogwartsartifactsapi.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Yvonne N
+ */
+class HeavyHitterSketchTest {
+
+    @Test
+    void testTopKKeepsTheMostFrequentKeys() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(3, 1024, 4);
+
+        // 10000 keys seen once, 3 keys seen often
+        IntStream.range(0, 10_000).forEach(i -> sketch.record("cold-" + i));
+        IntStream.range(0, 500).forEach(i -> sketch.record("hot-1"));
+        IntStream.range(0, 300).forEach(i -> sketch.record("hot-2"));
+        IntStream.range(0, 200).forEach(i -> sketch.record("hot-3"));
+
+        List<HeavyHitterSketch.HeavyHitter> topK = sketch.topK();
+
+        assertThat(topK).extracting(HeavyHitterSketch.HeavyHitter::key).containsExactly("hot-1", "hot-2", "hot-3");
+        assertThat(sketch.totalCount()).isEqualTo(11_000);
+        // never under-counted, over-counted by at most the error bound
+        topK.forEach(heavyHitter -> assertThat(heavyHitter.estimatedCount()).isGreaterThanOrEqualTo(switch (heavyHitter.key()) {
+            case "hot-1" -> 500L;
+            case "hot-2" -> 300L;
+            default -> 200L;
+        }));
+        assertThat(topK.get(0).estimatedCount()).isLessThanOrEqualTo(500 + sketch.errorBound());
+    }
+
+    @Test
+    void testConcurrentRecordsAreAllCounted() throws InterruptedException {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(5, 2048, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        IntStream.range(0, 8).forEach(thread -> executor.submit(() ->
+                IntStream.range(0, 10_000).forEach(i -> sketch.record(i % 10 == 0 ? "hot" : "key-" + (i % 500)))));
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(sketch.totalCount()).isEqualTo(80_000);
+        assertThat(sketch.topK().get(0).key()).isEqualTo("hot");
+        // a lost compare-and-set may leave the slot a few lookups behind the sketch
+        assertThat(sketch.topK().get(0).estimatedCount()).isGreaterThan(7_900);
+    }
+
+    @Test
+    void testInvalidDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> new HeavyHitterSketch(0, 1024, 4));
+        assertThrows(IllegalArgumentException.class, () -> new HeavyHitterSketch(10, 1024, 9));
+    }
+}
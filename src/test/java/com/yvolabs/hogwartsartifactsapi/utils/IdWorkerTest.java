@@ -0,0 +1,188 @@
+package com.yvolabs.hogwartsartifactsapi.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Yvonne N
+ */
+class IdWorkerTest {
+
+    @Test
+    void testIdsAreIncreasingAcrossSequenceRollovers() {
+        IdWorker idWorker = new IdWorker(1, 1);
+
+        // more than the 4096 ids a millisecond can hold
+        long[] ids = LongStream.range(0, 20_000).map(i -> idWorker.nextId()).toArray();
+
+        for (int i = 1; i < ids.length; i++) {
+            assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+        }
+    }
+
+    @Test
+    void testIdsKeepTheBitLayout() {
+        long before = System.currentTimeMillis();
+        long id = new IdWorker(7, 19).nextId();
+
+        // 41 bits timestamp since twepoch | 5 bits datacenter | 5 bits worker | 12 bits sequence
+        assertThat((id >>> 22) + 1288834974657L).isBetween(before, System.currentTimeMillis());
+        assertThat((id >>> 17) & 0x1F).isEqualTo(19);
+        assertThat((id >>> 12) & 0x1F).isEqualTo(7);
+        assertThat(id & 0xFFF).isZero();
+    }
+
+    @Test
+    void testInstancesDoNotShareState() {
+        IdWorker first = new IdWorker(1, 1);
+        IdWorker second = new IdWorker(2, 1);
+
+        first.nextIds(5000);
+
+        // a fresh instance starts its own sequence, whatever the other one did in the same millisecond
+        assertThat(second.nextId() & 0xFFF).isZero();
+    }
+
+    @Test
+    void testConcurrentCallersNeverGetTheSameId() throws Exception {
+        IdWorker idWorker = new IdWorker(1, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> LongStream.range(0, 10_000).map(j -> idWorker.nextId()).toArray()));
+        }
+
+        Set<Long> ids = new HashSet<>();
+        for (Future<long[]> future : futures) {
+            for (long id : future.get()) {
+                ids.add(id);
+            }
+        }
+        executor.shutdown();
+
+        assertThat(ids).hasSize(80_000);
+    }
+
+    @Test
+    void testReserveHandsOutConsecutiveIdsOfOneMillisecond() {
+        IdWorker idWorker = new IdWorker(1, 1);
+
+        IdWorker.IdBlock block = idWorker.reserve(10_000);
+        long next = idWorker.nextId();
+
+        // capped at the 4096 sequence values of a millisecond
+        assertThat(block.size()).isEqualTo(4096);
+        assertThat(block.firstId() & 0xFFF).isZero();
+        assertThat(next).isGreaterThan(block.firstId() + block.size() - 1);
+    }
+
+    @Test
+    void testNextIdsSpanSeveralMilliseconds() {
+        long[] ids = new IdWorker(1, 1).nextIds(10_000);
+
+        assertThat(LongStream.of(ids).distinct().count()).isEqualTo(10_000);
+        for (int i = 1; i < ids.length; i++) {
+            assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+        }
+    }
+
+    @Test
+    void testConcurrentBlocksAreUniqueAndOrderedByMillisecond() throws Exception {
+        IdWorker idWorker = new IdWorker(1, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> LongStream.range(0, 100).flatMap(j -> LongStream.of(idWorker.nextIds(100))).toArray()));
+        }
+
+        Set<Long> ids = new HashSet<>();
+        for (Future<long[]> future : futures) {
+            long[] threadIds = future.get();
+            for (int i = 0; i < threadIds.length; i++) {
+                ids.add(threadIds[i]);
+                if (i > 0) {
+                    assertThat(threadIds[i]).isGreaterThan(threadIds[i - 1]);
+                }
+            }
+        }
+        executor.shutdown();
+        assertThat(ids).hasSize(80_000);
+
+        // taken after all of them: never behind a reserved one, its millisecond is at least theirs
+        long last = idWorker.nextId();
+        assertThat(ids).allSatisfy(id -> assertThat(id >>> 22).isLessThanOrEqualTo(last >>> 22));
+    }
+
+    @Test
+    void testSystemModeFailsWhenTheClockMovesBackwards() {
+        AtomicLong wallClock = new AtomicLong(1_700_000_000_000L);
+        IdWorker idWorker = new IdWorker(1, 1, IdWorker.ClockMode.SYSTEM, wallClock::get, System::nanoTime);
+        idWorker.nextId();
+
+        wallClock.addAndGet(-5);
+
+        assertThrows(RuntimeException.class, idWorker::nextId);
+        assertThat(idWorker.clockRegressions()).isEqualTo(1);
+    }
+
+    @Test
+    void testMonotonicModeToleratesTheClockMovingBackwards() {
+        AtomicLong wallClock = new AtomicLong(1_700_000_000_000L);
+        AtomicLong nanoClock = new AtomicLong();
+        IdWorker idWorker = new IdWorker(1, 1, IdWorker.ClockMode.MONOTONIC, wallClock::get, nanoClock::get);
+        long first = idWorker.nextId();
+
+        wallClock.addAndGet(-5_000);
+        nanoClock.addAndGet(2_000_000);
+        long second = idWorker.nextId();
+        long third = idWorker.nextId();
+
+        assertThat(second).isGreaterThan(first);
+        assertThat(third).isGreaterThan(second);
+        // 2ms of nanoTime after the anchor, the wall clock is ignored
+        assertThat(second >>> 22).isEqualTo((first >>> 22) + 2);
+        assertThat(idWorker.clockRegressions()).isEqualTo(1);
+    }
+
+    @Test
+    void testMonotonicModeWaitsForTheNextMillisecondOnceTheSequenceIsExhausted() {
+        // every reading moves the clock 10µs forward
+        AtomicLong nanoClock = new AtomicLong();
+        IdWorker idWorker = new IdWorker(1, 1, IdWorker.ClockMode.MONOTONIC, () -> 1_700_000_000_000L, () -> nanoClock.addAndGet(10_000));
+
+        IdWorker.IdBlock block = idWorker.reserve(4096);
+        long next = idWorker.nextId();
+
+        assertThat(next >>> 22).isGreaterThan(block.firstId() >>> 22);
+        assertThat(next & 0xFFF).isZero();
+        assertThat(idWorker.sequenceExhaustions()).isPositive();
+    }
+
+    @Test
+    void testNoIdsPastExpiry() {
+        AtomicLong wallClock = new AtomicLong(1_700_000_000_000L);
+        IdWorker idWorker = new IdWorker(1, 1, IdWorker.ClockMode.MONOTONIC, wallClock::get, System::nanoTime);
+        idWorker.expireAt(1_700_000_060_000L);
+        idWorker.nextId();
+
+        wallClock.set(1_700_000_060_000L);
+
+        assertThrows(IllegalStateException.class, idWorker::nextId);
+        assertThrows(IllegalStateException.class, () -> idWorker.nextIds(10));
+
+        idWorker.expireAt(1_700_000_120_000L);
+        assertThat(idWorker.nextId()).isPositive();
+    }
+}
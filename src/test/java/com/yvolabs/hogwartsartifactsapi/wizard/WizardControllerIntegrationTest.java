@@ -20,10 +20,14 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.util.Collections;
+import java.util.List;
+
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
  * @author Yvonne N
@@ -228,6 +232,79 @@ public class WizardControllerIntegrationTest {
                 .andExpect(jsonPath("$.data").isEmpty());
     }
 
+    @Test
+    @DisplayName("Check assignArtifact evicts the cached wizards (PUT)")
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testAssignArtifactEvictsCachedWizards() throws Exception {
+        // Harry Potter (2) owns 2 artifacts and is now cached.
+        this.mockMvc.perform(get(this.baseUrl + "/wizards/2").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(jsonPath("$.data.numberOfArtifacts").value(2));
+
+        this.mockMvc.perform(put(this.baseUrl + "/wizards/2/artifacts/1250808601744904191").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(jsonPath("$.flag").value(true));
+
+        this.mockMvc.perform(get(this.baseUrl + "/wizards/2").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(jsonPath("$.data.numberOfArtifacts").value(3));
+        this.mockMvc.perform(get(this.baseUrl + "/wizards/1").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(jsonPath("$.data.numberOfArtifacts").value(1));
+    }
+
+    @Test
+    @DisplayName("Check assignArtifact evicts the cached artifact searches (PUT)")
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testAssignArtifactEvictsCachedSearches() throws Exception {
+        String searchCriteria = "{\"ownerName\": \"Harry Potter\"}";
+        this.mockMvc.perform(post(this.baseUrl + "/artifacts/search").contentType(MediaType.APPLICATION_JSON).content(searchCriteria).accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.totalElements").value(2));
+
+        this.mockMvc.perform(put(this.baseUrl + "/wizards/2/artifacts/1250808601744904191").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(jsonPath("$.flag").value(true));
+
+        this.mockMvc.perform(post(this.baseUrl + "/artifacts/search").contentType(MediaType.APPLICATION_JSON).content(searchCriteria).accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.totalElements").value(3));
+    }
+
+    @Test
+    @DisplayName("Check assignArtifacts in bulk (PUT)")
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testAssignArtifactsSuccess() throws Exception {
+        // 191 and 193 are Albus Dumbledore's, 192 is already Harry Potter's, 199 does not exist
+        String artifactIds = "[\"1250808601744904191\", \"1250808601744904192\", \"1250808601744904193\", \"1250808601744904199\"]";
+        this.mockMvc.perform(put(this.baseUrl + "/wizards/2/artifacts").contentType(MediaType.APPLICATION_JSON).content(artifactIds).accept(MediaType.APPLICATION_JSON).header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.code").value(StatusCode.SUCCESS))
+                .andExpect(jsonPath("$.message").value("Artifact Bulk Assignment Success"))
+                .andExpect(jsonPath("$.data").value(2));
+
+        this.mockMvc.perform(get(this.baseUrl + "/wizards/2").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(jsonPath("$.data.numberOfArtifacts").value(4));
+        this.mockMvc.perform(get(this.baseUrl + "/wizards/1").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(jsonPath("$.data.numberOfArtifacts").value(0));
+        this.mockMvc.perform(get(this.baseUrl + "/artifacts/1250808601744904193").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.owner.name").value("Harry Potter"));
+    }
+
+    @Test
+    @DisplayName("Check assignArtifacts with non-existent wizard id (PUT)")
+    void testAssignArtifactsErrorWithNonExistentWizardId() throws Exception {
+        this.mockMvc.perform(put(this.baseUrl + "/wizards/5/artifacts").contentType(MediaType.APPLICATION_JSON).content("[\"1250808601744904191\"]").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(jsonPath("$.flag").value(false))
+                .andExpect(jsonPath("$.code").value(StatusCode.NOT_FOUND))
+                .andExpect(jsonPath("$.message").value("Could not find wizard with Id 5"));
+    }
+
+    @Test
+    @DisplayName("Check assignArtifacts with too many artifact ids (PUT)")
+    void testAssignArtifactsErrorWhenTooLarge() throws Exception {
+        List<String> artifactIds = Collections.nCopies(10001, "1250808601744904191");
+
+        this.mockMvc.perform(put(this.baseUrl + "/wizards/2/artifacts").contentType(MediaType.APPLICATION_JSON).content(this.objectMapper.writeValueAsString(artifactIds)).accept(MediaType.APPLICATION_JSON).header(HttpHeaders.AUTHORIZATION, this.token))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.flag").value(false))
+                .andExpect(jsonPath("$.code").value(StatusCode.INVALID_ARGUMENT))
+                .andExpect(jsonPath("$.message").value("The batch has 10001 items, at most 10000 are allowed"));
+    }
+
     @Test
     @DisplayName("Check assignArtifact with non-existent wizard id (PUT)")
     void testAssignArtifactErrorWithNonExistentWizardId() throws Exception {
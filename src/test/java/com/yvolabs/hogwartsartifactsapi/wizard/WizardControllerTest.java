@@ -55,14 +55,17 @@ class WizardControllerTest {
 
     @Test
     void testFindAllWizardsSuccess() throws Exception {
-        given(wizardService.findAll()).willReturn(wizards);
+        List<WizardDto> wizardDtos = wizards.stream()
+                .map(wizard -> new WizardDto(wizard.getId(), wizard.getName(), wizard.getNumberOfArtifacts()))
+                .toList();
+        given(wizardService.findAllDtos()).willReturn(wizardDtos);
 
         mockMvc.perform(get(PATH).accept(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.flag").value(true))
                 .andExpect(jsonPath("$.code").value(StatusCode.SUCCESS))
                 .andExpect(jsonPath("$.message").value("Find All Success"))
                 .andExpect(jsonPath("$.data", Matchers.hasSize(wizards.size())));
-        verify(wizardService).findAll();
+        verify(wizardService).findAllDtos();
     }
 
     @Test
@@ -10,6 +10,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -224,6 +225,32 @@ class WizardServiceTest {
                 .hasMessage("Could not find artifact with Id 1250808601744904192");
     }
 
+    @Test
+    void testAssignArtifactsSuccessInChunks() {
+        ReflectionTestUtils.setField(this.wizardService, "assignmentChunkSize", 2);
+        given(this.wizardRepository.existsById(3)).willReturn(true);
+        given(this.artifactRepository.assignOwner(3, List.of("1250808601744904191", "1250808601744904192"))).willReturn(2);
+        given(this.artifactRepository.assignOwner(3, List.of("1250808601744904193"))).willReturn(0);
+
+        int movedArtifacts = this.wizardService.assignArtifacts(3, List.of("1250808601744904191", "1250808601744904192", "1250808601744904191", "1250808601744904193"));
+
+        assertThat(movedArtifacts).isEqualTo(2);
+        verify(this.artifactRepository, times(2)).assignOwner(eq(3), anyCollection());
+        verify(this.wizardRepository, never()).findById(3);
+    }
+
+    @Test
+    void testAssignArtifactsErrorWithNonExistentWizardId() {
+        given(this.wizardRepository.existsById(5)).willReturn(false);
+
+        Throwable thrown = assertThrows(ObjectNotFoundException.class, () ->
+                this.wizardService.assignArtifacts(5, List.of("1250808601744904192"))
+        );
+
+        assertThat(thrown).hasMessage("Could not find wizard with Id 5");
+        verify(this.artifactRepository, never()).assignOwner(anyInt(), anyCollection());
+    }
+
 
     private void setWizardsTestData() {
         Artifact a1 = new Artifact();